@@ -0,0 +1,114 @@
+package bot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ordered list of plugins (bid strategies or order sources) that reorders
+// itself from measurements: each plugin keeps a moving average of its
+// latency and a smoothed success rate, and plugins run in order of expected
+// time to a success (latency / success rate). A plugin with fewer than
+// WARMUP samples keeps its registered position, so an untried fallback
+// isn't pushed to the front before it has numbers.
+//
+// With a fixed order (-Dbot.strategies / -Dbot.sources) the chain never
+// reorders, for A/B runs. Used from the monitor thread; describe() may be
+// called from anywhere.
+class AdaptiveChain<T> {
+    private static final int WARMUP = 5;
+    private static final double ALPHA = 0.2; // Weight of the newest latency sample
+
+    private static class Slot<T> {
+        final String name;
+        final T plugin;
+        long attempts;
+        long successes;
+        double averageMs;
+
+        Slot(String name, T plugin) {
+            this.name = name;
+            this.plugin = plugin;
+        }
+
+        double expectedMs() {
+            double successRate = (successes + 1.0) / (attempts + 2.0);
+            return averageMs / successRate;
+        }
+    }
+
+    private final List<Slot<T>> registered = new ArrayList<>();
+    private List<Slot<T>> ordered = new ArrayList<>();
+    private final boolean fixedOrder;
+
+    AdaptiveChain(boolean fixedOrder) {
+        this.fixedOrder = fixedOrder;
+    }
+
+    synchronized void add(String name, T plugin) {
+        Slot<T> slot = new Slot<>(name, plugin);
+        registered.add(slot);
+        ordered.add(slot);
+    }
+
+    synchronized boolean isEmpty() {
+        return registered.isEmpty();
+    }
+
+    // Current run order
+    synchronized List<T> plugins() {
+        List<T> plugins = new ArrayList<>(ordered.size());
+        for (Slot<T> slot : ordered) {
+            plugins.add(slot.plugin);
+        }
+        return plugins;
+    }
+
+    // Returns true when the run order changed
+    synchronized boolean record(String name, long elapsedMs, boolean success) {
+        for (Slot<T> slot : registered) {
+            if (slot.name.equals(name)) {
+                slot.averageMs = slot.attempts == 0 ? elapsedMs : ALPHA * elapsedMs + (1 - ALPHA) * slot.averageMs;
+                slot.attempts++;
+                if (success) {
+                    slot.successes++;
+                }
+            }
+        }
+        return !fixedOrder && reorder();
+    }
+
+    // Sampled plugins are sorted among the positions they hold in the
+    // registered order; under-sampled ones stay where they were registered
+    private boolean reorder() {
+        List<Slot<T>> sampled = new ArrayList<>();
+        for (Slot<T> slot : registered) {
+            if (slot.attempts >= WARMUP) {
+                sampled.add(slot);
+            }
+        }
+        sampled.sort((a, b) -> Double.compare(a.expectedMs(), b.expectedMs()));
+        List<Slot<T>> next = new ArrayList<>(registered.size());
+        int nextSampled = 0;
+        for (Slot<T> slot : registered) {
+            next.add(slot.attempts >= WARMUP ? sampled.get(nextSampled++) : slot);
+        }
+        boolean changed = !next.equals(ordered);
+        ordered = next;
+        return changed;
+    }
+
+    // "modal 420ms 96% > navigation 1800ms 80%"
+    synchronized String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (Slot<T> slot : ordered) {
+            if (sb.length() > 0) {
+                sb.append(" > ");
+            }
+            sb.append(slot.name);
+            if (slot.attempts > 0) {
+                sb.append(" ").append(Math.round(slot.averageMs)).append("ms ")
+                    .append(100 * slot.successes / slot.attempts).append("%");
+            }
+        }
+        return sb.toString();
+    }
+}
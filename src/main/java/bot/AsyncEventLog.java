@@ -0,0 +1,349 @@
+package bot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Structured log written off the monitor thread. Callers only append to a
+// lock-free queue; one writer thread drains it in batches into JSON lines
+// ({"ts","level","bot","thread","msg"}) and echoes them to the console, so a
+// burst of orders never waits on file or terminal I/O. The file rotates by
+// size (events.jsonl -> events.jsonl.1 -> ...).
+//
+// There is one log per process: every bot acquire()s the same instance and
+// tags its lines with its id, and the last release() closes it - separate
+// writers on one file would clash on rotation and split lines.
+//
+// Levels come from the message's leading emoji (❌/💥 ERROR, ⚠️ WARN) or from
+// the call (debug()). A level can be sampled - keep one in N - and when the
+// queue is full new events are dropped rather than blocking; both are
+// counted (log.sampled, log.dropped). ERROR is never sampled or dropped.
+//
+// Enable with -Dbot.eventLog=true; -Dbot.eventLog.file (default
+// events.jsonl), .maxMb (default 20 per file), .files (default 5 kept),
+// .sample (e.g. "DEBUG:10,INFO:2"), .console (default true).
+public class AsyncEventLog {
+    enum Level { ERROR, WARN, INFO, DEBUG }
+
+    private static final int CAPACITY = 16_384;
+    private static final int BATCH = 512;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    // The process-wide log and how many bots hold it (guarded by the class).
+    // While it is open it owns the console: listeners skip their own println
+    private static volatile AsyncEventLog shared;
+    private static int holders;
+
+    private static class Event {
+        final long timeMs;
+        final Level level;
+        final String bot;
+        final String thread;
+        final String message;
+
+        Event(long timeMs, Level level, String bot, String thread, String message) {
+            this.timeMs = timeMs;
+            this.level = level;
+            this.bot = bot;
+            this.thread = thread;
+            this.message = message;
+        }
+    }
+
+    private final Path file;
+    private final long maxBytes;
+    private final int keepFiles;
+    private final Map<Level, Integer> sampleEvery;
+    private final boolean console;
+    private final BotStats stats;
+
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Level, AtomicLong> seen = new EnumMap<>(Level.class);
+    private final Thread writerThread;
+    private volatile boolean writerParked;
+    private volatile boolean running = true;
+    private BufferedWriter writer; // Writer thread only
+    private long fileBytes;
+
+    AsyncEventLog(Path file, long maxBytes, int keepFiles, Map<Level, Integer> sampleEvery, boolean console,
+                  BotStats stats) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keepFiles = keepFiles;
+        this.sampleEvery = sampleEvery;
+        this.console = console;
+        this.stats = stats;
+        for (Level level : Level.values()) {
+            seen.put(level, new AtomicLong());
+        }
+        openFile();
+        writerThread = new Thread(this::drainLoop, "event-log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // The shared log, opened on first use; null unless enabled through system
+    // properties. Every non-null result needs a matching release()
+    public static synchronized AsyncEventLog acquire() {
+        if (!Boolean.getBoolean("bot.eventLog")) {
+            return null;
+        }
+        if (shared == null) {
+            shared = fromSystemProperties();
+            if (shared == null) {
+                return null;
+            }
+        }
+        holders++;
+        return shared;
+    }
+
+    // The last holder writes out what is queued and closes the file
+    public static void release(AsyncEventLog log) {
+        synchronized (AsyncEventLog.class) {
+            if (log != shared || --holders > 0) {
+                return;
+            }
+            shared = null;
+        }
+        log.close(); // Joins the writer - outside the class lock
+    }
+
+    private static AsyncEventLog fromSystemProperties() {
+        Path file = Path.of(System.getProperty("bot.eventLog.file", "events.jsonl"));
+        try {
+            return new AsyncEventLog(file, Long.getLong("bot.eventLog.maxMb", 20) * 1024 * 1024,
+                Math.max(1, Integer.getInteger("bot.eventLog.files", 5)), parseSampling(System.getProperty("bot.eventLog.sample", "")),
+                Boolean.parseBoolean(System.getProperty("bot.eventLog.console", "true")), new BotStats());
+        } catch (IOException e) {
+            System.err.println("Event log disabled, could not open " + file + ": " + e.getMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Event log disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // "DEBUG:10,INFO:2" -> keep every 10th DEBUG and every 2nd INFO event
+    static Map<Level, Integer> parseSampling(String spec) {
+        Map<Level, Integer> sampling = new EnumMap<>(Level.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("bad sampling entry '" + part.trim() + "', expected LEVEL:N");
+            }
+            Level level = Level.valueOf(pair[0].trim().toUpperCase());
+            int every = Integer.parseInt(pair[1].trim());
+            if (level != Level.ERROR && every > 1) {
+                sampling.put(level, every);
+            }
+        }
+        return sampling;
+    }
+
+    static boolean ownsConsole() {
+        AsyncEventLog log = shared;
+        return log != null && log.console;
+    }
+
+    // log.* counters; shared by every bot, so kept apart from their stats
+    public Map<String, Long> counters() {
+        return stats.snapshot();
+    }
+
+    static Level levelOf(String message) {
+        if (message.startsWith("❌") || message.startsWith("💥")) {
+            return Level.ERROR;
+        }
+        if (message.startsWith("⚠️")) {
+            return Level.WARN;
+        }
+        return Level.INFO;
+    }
+
+    public void log(String bot, String message) {
+        log(levelOf(message), bot, message);
+    }
+
+    public void debug(String bot, String message) {
+        log(Level.DEBUG, bot, message);
+    }
+
+    // Never blocks: sampled-out and overflow events are only counted
+    void log(Level level, String bot, String message) {
+        Integer every = sampleEvery.get(level);
+        if (every != null && seen.get(level).getAndIncrement() % every != 0) {
+            stats.increment("log.sampled");
+            return;
+        }
+        if (!running) {
+            return;
+        }
+        if (queued.incrementAndGet() > CAPACITY && level != Level.ERROR) {
+            queued.decrementAndGet();
+            stats.increment("log.dropped");
+            return;
+        }
+        queue.offer(new Event(System.currentTimeMillis(), level, bot, Thread.currentThread().getName(), message));
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    // Listener that logs every message here, tagged with the bot, before forwarding it
+    public BotListener tee(String bot, BotListener delegate) {
+        return new BotListener() {
+            @Override
+            public void logMessage(String message) {
+                log(bot, message);
+                delegate.logMessage(message);
+            }
+
+            @Override
+            public void updateFoundOrders(int count) {
+                delegate.updateFoundOrders(count);
+            }
+
+            @Override
+            public void updateSuccessfulBids(int count) {
+                delegate.updateSuccessfulBids(count);
+            }
+
+            @Override
+            public void updateRetryStats(int pending) {
+                delegate.updateRetryStats(pending);
+            }
+
+            @Override
+            public void notifyOrderFound(String orderTitle) {
+                delegate.notifyOrderFound(orderTitle);
+            }
+        };
+    }
+
+    private void drainLoop() {
+        StringBuilder lines = new StringBuilder(64 * 1024);
+        StringBuilder echo = new StringBuilder();
+        while (true) {
+            int count = 0;
+            Event event;
+            while (count < BATCH && (event = queue.poll()) != null) {
+                appendJson(lines, event);
+                if (console) {
+                    echo.append('[').append(LocalTime.ofInstant(Instant.ofEpochMilli(event.timeMs), ZoneId.systemDefault())
+                        .format(TIME_FORMAT)).append("] ").append(event.message).append('\n');
+                }
+                count++;
+            }
+            if (count > 0) {
+                queued.addAndGet(-count);
+                write(lines);
+                if (echo.length() > 0) {
+                    System.out.print(echo);
+                    echo.setLength(0);
+                }
+                stats.add("log.written", count);
+                continue; // Keep draining a burst before parking
+            }
+            if (!running) {
+                break;
+            }
+            writerParked = true;
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Nothing left to report it to
+        }
+    }
+
+    private static void appendJson(StringBuilder out, Event event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("ts", event.timeMs);
+        fields.put("level", event.level.name());
+        fields.put("bot", event.bot);
+        fields.put("thread", event.thread);
+        fields.put("msg", event.message);
+        out.append(ControlServer.Json.object(fields)).append('\n');
+    }
+
+    private void write(StringBuilder lines) {
+        try {
+            String batch = lines.toString();
+            writer.write(batch);
+            writer.flush();
+            fileBytes += batch.getBytes(StandardCharsets.UTF_8).length;
+            if (fileBytes >= maxBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            stats.increment("log.writeErrors");
+        } finally {
+            lines.setLength(0);
+        }
+    }
+
+    // events.jsonl -> .1 -> .2 ...; keepFiles counts the live file too
+    private void rotate() throws IOException {
+        writer.close();
+        Files.deleteIfExists(Path.of(file + "." + (keepFiles - 1)));
+        for (int i = keepFiles - 2; i >= 1; i--) {
+            Path older = Path.of(file + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, Path.of(file + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (keepFiles > 1) {
+            Files.move(file, Path.of(file + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        openFile();
+        stats.increment("log.rotations");
+    }
+
+    private void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    // Writes out what is queued, then stops the writer thread
+    private void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
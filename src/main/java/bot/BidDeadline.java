@@ -0,0 +1,76 @@
+package bot;
+
+// One deadline shared by every strategy and step of a single bid attempt.
+// Each Playwright call asks for the time that is left as its timeout, so a
+// slow modal eats into the navigation fallback instead of stacking on top.
+public class BidDeadline {
+    // Thrown once the budget is gone - strategies catch it and stop cleanly
+    public static class BudgetExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        final String stage;
+        
+        BudgetExhaustedException(String stage) {
+            super("Bid budget exhausted during " + stage);
+            this.stage = stage;
+        }
+    }
+    
+    private final long deadlineNanos;
+    private final BotStats stats;
+    private String stage = "start";
+    private boolean exhaustionRecorded = false;
+    
+    public BidDeadline(long budgetMs, BotStats stats) {
+        this.deadlineNanos = System.nanoTime() + budgetMs * 1_000_000L;
+        this.stats = stats;
+    }
+    
+    public long remainingMs() {
+        return (deadlineNanos - System.nanoTime()) / 1_000_000L;
+    }
+    
+    public boolean isExpired() {
+        return remainingMs() <= 0;
+    }
+    
+    public String stage() {
+        return stage;
+    }
+    
+    // Timeout for the next Playwright call made in this stage
+    public double timeoutFor(String stage) {
+        this.stage = stage;
+        long remaining = remainingMs();
+        if (remaining <= 0) {
+            throw exhausted();
+        }
+        return remaining;
+    }
+    
+    // Like Thread.sleep, but never past the deadline
+    public void sleep(String stage, long millis) throws InterruptedException {
+        long remaining = (long) timeoutFor(stage);
+        Thread.sleep(Math.min(millis, remaining));
+    }
+    
+    // Counts the exhaustion against the current stage (once per bid)
+    public BudgetExhaustedException exhausted() {
+        if (!exhaustionRecorded) {
+            exhaustionRecorded = true;
+            stats.increment("bid.budget.exhausted." + stage);
+        }
+        return new BudgetExhaustedException(stage);
+    }
+    
+    // How a bid that ran out of time in the current stage should be retried
+    public FailureClass failureClass() {
+        if (stage.equals("navigation")) {
+            return FailureClass.NAVIGATION_ERROR;
+        }
+        if (stage.equals("bid-button")) {
+            return FailureClass.SELECTOR_MISS;
+        }
+        return FailureClass.MODAL_TIMEOUT;
+    }
+}
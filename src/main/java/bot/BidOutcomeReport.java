@@ -0,0 +1,97 @@
+package bot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Joins the bid and outcome rows written by BidOutcomeTracker and prints
+// acceptance rate by detection-to-submit latency and by bid strategy - the
+// number that says whether shaving another 500ms off bidding is worth it.
+//
+//   java -cp bidder-bot.jar bot.BidOutcomeReport [bid-outcomes.tsv]
+public class BidOutcomeReport {
+    private static final long[] BUCKET_LIMITS_MS = {500, 1000, 2000, 5000};
+    private static final String[] BUCKET_NAMES = {"< 0.5s", "0.5-1s", "1-2s", "2-5s", "5s+"};
+
+    // {bids, accepted, rejected}
+    private static int[] row(Map<String, int[]> table, String name) {
+        return table.computeIfAbsent(name, n -> new int[3]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "bid-outcomes.tsv");
+        if (!Files.exists(file)) {
+            System.err.println("No bid outcome file: " + file);
+            System.exit(1);
+        }
+
+        Map<String, String[]> bids = new HashMap<>();     // key -> {strategy, latencyMs}
+        Map<String, String> outcomes = new HashMap<>();   // key -> accepted|rejected
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split("\t", -1);
+                if (cols.length >= 5 && cols[0].equals("bid")) {
+                    bids.put(cols[2], new String[] {cols[3], cols[4]});
+                } else if (cols.length >= 4 && cols[0].equals("outcome")) {
+                    outcomes.put(cols[2], cols[3]);
+                }
+            }
+        }
+
+        Map<String, int[]> byLatency = new LinkedHashMap<>();
+        for (String name : BUCKET_NAMES) {
+            row(byLatency, name);
+        }
+        Map<String, int[]> byStrategy = new TreeMap<>();
+        for (Map.Entry<String, String[]> entry : bids.entrySet()) {
+            long latencyMs = Long.parseLong(entry.getValue()[1]);
+            String outcome = outcomes.get(entry.getKey());
+            count(row(byLatency, bucketFor(latencyMs)), outcome);
+            count(row(byStrategy, entry.getValue()[0]), outcome);
+        }
+
+        System.out.println("===== BID OUTCOMES (" + file + ", " + bids.size() + " bids, "
+            + outcomes.size() + " resolved) =====");
+        print("Detect-to-submit", byLatency);
+        System.out.println();
+        print("Strategy", byStrategy);
+    }
+
+    private static String bucketFor(long latencyMs) {
+        if (latencyMs < 0) {
+            return "unknown"; // Bid placed without a recorded detection (e.g. after a restart)
+        }
+        for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+            if (latencyMs < BUCKET_LIMITS_MS[i]) {
+                return BUCKET_NAMES[i];
+            }
+        }
+        return BUCKET_NAMES[BUCKET_NAMES.length - 1];
+    }
+
+    private static void count(int[] counts, String outcome) {
+        counts[0]++;
+        if ("accepted".equals(outcome)) {
+            counts[1]++;
+        } else if ("rejected".equals(outcome)) {
+            counts[2]++;
+        }
+    }
+
+    private static void print(String heading, Map<String, int[]> table) {
+        System.out.printf("%-18s %6s %9s %9s %8s %11s%n", heading, "Bids", "Accepted", "Rejected", "Pending", "Acceptance");
+        for (Map.Entry<String, int[]> entry : table.entrySet()) {
+            int[] c = entry.getValue();
+            int resolved = c[1] + c[2];
+            String rate = resolved == 0 ? "-" : String.format("%.1f%%", 100.0 * c[1] / resolved);
+            System.out.printf("%-18s %6d %9d %9d %8d %11s%n", entry.getKey(), c[0], c[1], c[2], c[0] - resolved, rate);
+        }
+    }
+}
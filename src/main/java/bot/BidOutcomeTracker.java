@@ -0,0 +1,266 @@
+package bot;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.WaitUntilState;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Follows placed bids to their outcome. Every bid is logged with its
+// detection-to-submit latency and winning strategy; a background thread
+// periodically opens the account's bids page in its own headless browser
+// (its own Playwright instance - Playwright objects can't cross threads),
+// reads each order's status and logs accepted/rejected outcomes to the same
+// file. BidOutcomeReport joins the two into latency-versus-acceptance.
+//
+// Enable with -Dbot.outcomes=true. The bids page and its markup are
+// configurable since they differ per account type:
+//   -Dbot.outcomes.url           (default https://studybay.com/order/my)
+//   -Dbot.outcomes.pollMinutes   (default 5)
+//   -Dbot.outcomes.file          (default bid-outcomes.tsv)
+//   -Dbot.outcomes.row / .link / .status   CSS for an order row, its link and status label
+//   -Dbot.outcomes.accepted / .rejected    regexes matched against the status text
+public class BidOutcomeTracker {
+    private static final int TRACKED_DETECTIONS = 10_000;
+
+    // A submitted bid still waiting for an outcome
+    private static class PlacedBid {
+        final String strategy;
+        final long latencyMs;
+
+        PlacedBid(String strategy, long latencyMs) {
+            this.strategy = strategy;
+            this.latencyMs = latencyMs;
+        }
+    }
+
+    private static final String READ_STATUSES_SCRIPT =
+        "([row, link, status]) => Array.from(document.querySelectorAll(row)).map(r => {\n"
+        + "  const a = r.querySelector(link);\n"
+        + "  const s = r.querySelector(status);\n"
+        + "  return { href: a ? a.getAttribute('href') : null, status: s ? s.textContent.trim() : '' };\n"
+        + "})";
+
+    private final Path logFile;
+    private final String bidsUrl;
+    private final long pollIntervalMs;
+    private final List<String> selectors;
+    private final Pattern accepted;
+    private final Pattern rejected;
+    private final BotStats stats;
+    private final BotListener app;
+
+    private final Map<String, Long> detectedAt = new LinkedHashMap<String, Long>(1024, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > TRACKED_DETECTIONS;
+        }
+    };
+    private final Map<String, PlacedBid> pending = new ConcurrentHashMap<>();
+    private volatile String storageState;
+    private volatile long sessionUpdatedMs = 0;
+    private volatile boolean running = false;
+    private Thread thread;
+    private BufferedWriter writer;
+    private boolean stopped = false; // Guarded by this; late writes would reopen the file
+
+    BidOutcomeTracker(Path logFile, String bidsUrl, long pollIntervalMs, List<String> selectors,
+                      Pattern accepted, Pattern rejected, BotStats stats, BotListener app) {
+        this.logFile = logFile;
+        this.bidsUrl = bidsUrl;
+        this.pollIntervalMs = pollIntervalMs;
+        this.selectors = selectors;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.stats = stats;
+        this.app = app;
+    }
+
+    // Returns null unless enabled through system properties
+    public static BidOutcomeTracker fromSystemProperties(String baseUrl, BotStats stats, BotListener app) {
+        if (!Boolean.getBoolean("bot.outcomes")) {
+            return null;
+        }
+        BidOutcomeTracker tracker = new BidOutcomeTracker(
+            Path.of(System.getProperty("bot.outcomes.file", "bid-outcomes.tsv")),
+            System.getProperty("bot.outcomes.url", baseUrl + "/order/my"),
+            Long.getLong("bot.outcomes.pollMinutes", 5) * 60_000,
+            Arrays.asList(
+                System.getProperty("bot.outcomes.row", "[class*='order']"),
+                System.getProperty("bot.outcomes.link", "a[href*='/order/']"),
+                System.getProperty("bot.outcomes.status", "[class*='status']")),
+            Pattern.compile(System.getProperty("bot.outcomes.accepted", "(?i)hired|accepted|assigned|in progress")),
+            Pattern.compile(System.getProperty("bot.outcomes.rejected", "(?i)declined|rejected|closed|cancel|another")),
+            stats, app);
+        tracker.start();
+        app.logMessage("🏁 Tracking bid outcomes from " + tracker.bidsUrl + " -> " + tracker.logFile);
+        return tracker;
+    }
+
+    public synchronized void onDetected(String orderKey, long atMs) {
+        detectedAt.putIfAbsent(orderKey, atMs);
+    }
+
+    // Logs a submitted bid with the time since the order was first detected
+    public synchronized void onBidPlaced(String orderKey, String strategy, long atMs) {
+        Long detected = detectedAt.remove(orderKey);
+        long latencyMs = detected == null ? -1 : atMs - detected;
+        pending.put(orderKey, new PlacedBid(strategy, latencyMs));
+        write("bid\t" + atMs + "\t" + orderKey + "\t" + strategy + "\t" + latencyMs);
+        if (latencyMs >= 0) {
+            stats.recordLatency("bid.detectToSubmit", latencyMs);
+        }
+    }
+
+    // True when the poller's copy of the login session is older than one poll
+    // interval; the monitor thread then hands over a fresh storageState
+    public boolean wantsSession() {
+        return System.currentTimeMillis() - sessionUpdatedMs > pollIntervalMs;
+    }
+
+    public void updateSession(String storageStateJson) {
+        storageState = storageStateJson;
+        sessionUpdatedMs = System.currentTimeMillis();
+    }
+
+    // Bids from earlier runs without an outcome row are still worth resolving
+    private void loadPending() {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(logFile, StandardCharsets.UTF_8)) {
+                String[] cols = line.split("\t");
+                if (cols.length >= 5 && cols[0].equals("bid")) {
+                    pending.put(cols[2], new PlacedBid(cols[3], Long.parseLong(cols[4])));
+                } else if (cols.length >= 4 && cols[0].equals("outcome")) {
+                    pending.remove(cols[2]);
+                }
+            }
+        } catch (Exception e) {
+            app.logMessage("⚠️ Could not read earlier bids from " + logFile + ": " + e.getMessage());
+        }
+    }
+
+    private void start() {
+        loadPending();
+        running = true;
+        thread = new Thread(this::pollLoop, "bid-outcomes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void pollLoop() {
+        try (Playwright playwright = Playwright.create()) {
+            Browser browser = null;
+            while (running) {
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (pending.isEmpty() || storageState == null) {
+                    continue;
+                }
+                try {
+                    if (browser == null) {
+                        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+                    }
+                    poll(browser);
+                } catch (Exception e) {
+                    stats.increment("outcome.poll.errors");
+                    app.logMessage("⚠️ Bid outcome poll failed: " + e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            app.logMessage("⚠️ Bid outcome tracker stopped: " + e.getMessage());
+        }
+    }
+
+    private void poll(Browser browser) {
+        long started = System.currentTimeMillis();
+        BrowserContext context = browser.newContext(new Browser.NewContextOptions().setStorageState(storageState));
+        try {
+            Page page = context.newPage();
+            page.navigate(bidsUrl, new Page.NavigateOptions().setWaitUntil(WaitUntilState.NETWORKIDLE));
+            List<?> rows = (List<?>) page.evaluate(READ_STATUSES_SCRIPT, selectors);
+            int resolved = 0;
+            for (Object item : rows) {
+                Map<?, ?> row = (Map<?, ?>) item;
+                String href = (String) row.get("href");
+                if (href == null) {
+                    continue;
+                }
+                String orderKey = OrderKeys.extractKey(href);
+                PlacedBid bid = pending.get(orderKey);
+                String status = (String) row.get("status");
+                String outcome = accepted.matcher(status).find() ? "accepted"
+                    : rejected.matcher(status).find() ? "rejected" : null;
+                if (bid == null || outcome == null) {
+                    continue;
+                }
+                pending.remove(orderKey);
+                resolved++;
+                stats.increment("outcome." + outcome);
+                stats.increment("outcome." + outcome + "." + bid.strategy);
+                write("outcome\t" + System.currentTimeMillis() + "\t" + orderKey + "\t" + outcome + "\t"
+                    + status.replace('\t', ' ').replace('\n', ' '));
+                app.logMessage((outcome.equals("accepted") ? "🏆 Bid accepted" : "📭 Bid " + outcome)
+                    + " for order " + orderKey + " (" + bid.latencyMs + "ms detect-to-submit, " + bid.strategy + ")");
+            }
+            stats.recordLatency("outcome.poll", System.currentTimeMillis() - started);
+            if (resolved > 0) {
+                app.logMessage("🏁 " + resolved + " bid outcome(s) resolved, " + pending.size() + " pending");
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private synchronized void write(String line) {
+        if (stopped) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(line);
+            writer.newLine();
+            writer.flush(); // A handful of lines per hour - keep them on disk
+        } catch (IOException e) {
+            app.logMessage("⚠️ Could not write " + logFile + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException e) {
+            // Ignore cleanup errors
+        }
+    }
+}
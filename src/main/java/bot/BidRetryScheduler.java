@@ -0,0 +1,101 @@
+package bot;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Schedules retries for failed bids with per-failure-class exponential
+// backoff and jitter. Each order gets at most maxBidAttempts attempts in
+// total, further limited by the policy of the failure it last hit.
+public class BidRetryScheduler {
+    // One failed order waiting for its next attempt
+    static class RetryEntry {
+        final String orderKey;
+        final String orderUrl;
+        final String title;
+        int attempts;
+        FailureClass lastFailure;
+        long dueAtMs;
+        
+        RetryEntry(String orderKey, String orderUrl, String title) {
+            this.orderKey = orderKey;
+            this.orderUrl = orderUrl;
+            this.title = title;
+        }
+    }
+    
+    private final int maxBidAttempts;
+    private final BotStats stats;
+    private final PriorityQueue<RetryEntry> dueQueue =
+        new PriorityQueue<>(Comparator.comparingLong((RetryEntry e) -> e.dueAtMs));
+    private final Map<String, RetryEntry> entries = new ConcurrentHashMap<>();
+    
+    public BidRetryScheduler(int maxBidAttempts, BotStats stats) {
+        this.maxBidAttempts = maxBidAttempts;
+        this.stats = stats;
+    }
+    
+    // Record a failed attempt; returns false once the order's budget is spent
+    public synchronized boolean scheduleRetry(String orderKey, String orderUrl, String title, FailureClass failure) {
+        RetryEntry entry = entries.get(orderKey);
+        if (entry == null) {
+            entry = new RetryEntry(orderKey, orderUrl, title);
+            entries.put(orderKey, entry);
+        } else {
+            dueQueue.remove(entry);
+        }
+        entry.attempts++;
+        entry.lastFailure = failure;
+        stats.increment("retry.failure." + failure.name());
+        
+        if (entry.attempts >= attemptLimit(failure)) {
+            entries.remove(orderKey);
+            stats.increment("retry.exhausted");
+            return false;
+        }
+        
+        entry.dueAtMs = System.currentTimeMillis() + backoffDelayMs(failure, entry.attempts);
+        dueQueue.add(entry);
+        stats.increment("retry.scheduled");
+        return true;
+    }
+    
+    // Pop the next retry whose backoff has elapsed, or null if none is due
+    public synchronized RetryEntry pollDue(long nowMs) {
+        RetryEntry next = dueQueue.peek();
+        if (next == null || next.dueAtMs > nowMs) {
+            return null;
+        }
+        return dueQueue.poll();
+    }
+    
+    public synchronized void markSucceeded(String orderKey) {
+        entries.remove(orderKey);
+        stats.increment("retry.succeeded");
+    }
+    
+    public synchronized int pendingCount() {
+        return dueQueue.size();
+    }
+    
+    // Remaining attempts per order still in the retry pipeline
+    public synchronized Map<String, Integer> remainingBudgets() {
+        Map<String, Integer> budgets = new TreeMap<>();
+        for (RetryEntry entry : entries.values()) {
+            budgets.put(entry.orderKey, Math.max(0, attemptLimit(entry.lastFailure) - entry.attempts));
+        }
+        return budgets;
+    }
+    
+    private int attemptLimit(FailureClass failure) {
+        return Math.min(maxBidAttempts, failure.maxAttempts);
+    }
+    
+    // Exponential backoff with "equal jitter": half fixed, half random
+    private long backoffDelayMs(FailureClass failure, int attempts) {
+        long delay = failure.baseDelayMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, failure.maxDelayMs);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,133 @@
+package bot;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Places due bid retries on a thread of their own, so a retry's navigation
+// and modal waits never hold up the monitor loop's detection. Playwright
+// objects can't cross threads, so the worker has its own Playwright, headless
+// browser and context, built from a copy of the monitor's login session
+// (storageState) - handed over the same way as for BidOutcomeTracker. A newer
+// session replaces the context before the next retry.
+public class BidRetryWorker {
+    private static final long IDLE_POLL_MS = 100;
+    private static final long SESSION_REFRESH_MS = 10 * 60_000L;
+    private static final long STOP_TIMEOUT_MS = 10_000;
+
+    private final BidRetryScheduler scheduler;
+    private final BooleanSupplier enabled;
+    private final Consumer<BrowserContext> configureContext;
+    private final BiConsumer<Page, BidRetryScheduler.RetryEntry> attempt;
+    private final BiConsumer<BidRetryScheduler.RetryEntry, Exception> openFailed;
+    private final BotListener app;
+
+    private volatile String storageState;
+    private volatile long sessionUpdatedMs = 0;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Worker thread only
+    private Browser browser;
+    private BrowserContext context;
+    private String contextState; // Session the context was built from
+    private Page page;
+
+    BidRetryWorker(BidRetryScheduler scheduler, BooleanSupplier enabled, Consumer<BrowserContext> configureContext,
+                   BiConsumer<Page, BidRetryScheduler.RetryEntry> attempt,
+                   BiConsumer<BidRetryScheduler.RetryEntry, Exception> openFailed, BotListener app) {
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.configureContext = configureContext;
+        this.attempt = attempt;
+        this.openFailed = openFailed;
+        this.app = app;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::runLoop, "bid-retries");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // True when the worker has no session yet or its copy is getting old;
+    // the monitor thread then hands over a fresh storageState
+    public boolean wantsSession() {
+        return System.currentTimeMillis() - sessionUpdatedMs > SESSION_REFRESH_MS;
+    }
+
+    public void updateSession(String storageStateJson) {
+        storageState = storageStateJson;
+        sessionUpdatedMs = System.currentTimeMillis();
+    }
+
+    private void runLoop() {
+        try (Playwright playwright = Playwright.create()) {
+            while (running) {
+                BidRetryScheduler.RetryEntry retry = null;
+                if (storageState != null && enabled.getAsBoolean()) {
+                    retry = scheduler.pollDue(System.currentTimeMillis());
+                }
+                if (retry == null) {
+                    Thread.sleep(IDLE_POLL_MS);
+                    continue;
+                }
+                Page target;
+                try {
+                    target = retryPage(playwright);
+                } catch (Exception e) {
+                    openFailed.accept(retry, e);
+                    continue;
+                }
+                attempt.accept(target, retry);
+            }
+        } catch (InterruptedException e) {
+            // Stopping
+        } catch (Exception e) {
+            app.logMessage("⚠️ Bid retry worker stopped: " + e.getMessage());
+        }
+    }
+
+    private Page retryPage(Playwright playwright) {
+        if (browser == null) {
+            browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        }
+        String session = storageState;
+        if (context != null && !session.equals(contextState)) {
+            context.close(); // Older login session
+            context = null;
+            page = null;
+        }
+        if (context == null) {
+            context = browser.newContext(BidderBot.baseContextOptions().setStorageState(session));
+            contextState = session;
+            configureContext.accept(context);
+        }
+        if (page == null || page.isClosed()) {
+            page = context.newPage();
+            page.setDefaultTimeout(30000);
+            page.setDefaultNavigationTimeout(60000);
+        }
+        return page;
+    }
+
+    // Lets a running retry finish; Playwright.close() takes the browser down
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package bot;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+// One way of placing a bid. Strategies run in a fallback chain sharing one
+// BidDeadline - each Playwright call should take deadline.timeoutFor(stage)
+// as its timeout, so a slow strategy leaves the next one less time instead
+// of stacking on top. Runs on the monitor thread.
+//
+// Register with BidderBot.addBidStrategy() before start(), or list the
+// class in META-INF/services/bot.BidStrategy (public no-arg constructor).
+public interface BidStrategy {
+    String name();
+
+    // True once the bid is submitted; false (or an exception) hands over to the next strategy
+    boolean place(BidRequest request, BidDeadline deadline) throws Exception;
+
+    // The order being bid on, and where it was found
+    final class BidRequest {
+        public final String orderKey;
+        public final String orderUrl;
+        public final String title;
+        public final Locator container; // The order's container on the search tab
+        public final Page page;         // The search tab it was found on
+
+        BidRequest(String orderKey, String orderUrl, String title, Locator container, Page page) {
+            this.orderKey = orderKey;
+            this.orderUrl = orderUrl;
+            this.title = title;
+            this.container = container;
+            this.page = page;
+        }
+    }
+}
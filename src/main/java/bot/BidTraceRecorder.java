@@ -0,0 +1,107 @@
+package bot;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.LongSupplier;
+
+// Keeps Playwright tracing (screenshots + DOM snapshots) running on the
+// bidding context in bounded chunks. A chunk older than the window is
+// thrown away, so at most the last N seconds are held. When a bid fails
+// or runs over its latency budget, the current chunk is saved as a trace
+// named after the order key.
+//
+// Enable with -Dbot.trace=true; tune with -Dbot.trace.windowSeconds
+// (default 30) and -Dbot.trace.dir (default "traces").
+public class BidTraceRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final Tracing tracing;
+    private final Path outputDir;
+    private final long windowMs;
+    private final LongSupplier latencyBudgetMs; // Read per bid - bid.timeoutMs is live-tunable
+    private final BotStats stats;
+    private long chunkStartedMs;
+    
+    private BidTraceRecorder(Tracing tracing, Path outputDir, long windowMs, LongSupplier latencyBudgetMs, BotStats stats) {
+        this.tracing = tracing;
+        this.outputDir = outputDir;
+        this.windowMs = windowMs;
+        this.latencyBudgetMs = latencyBudgetMs;
+        this.stats = stats;
+    }
+    
+    // Returns null unless enabled through system properties
+    public static BidTraceRecorder fromSystemProperties(BrowserContext context, LongSupplier latencyBudgetMs,
+                                                        BotStats stats, BotListener app) {
+        if (!Boolean.getBoolean("bot.trace")) {
+            return null;
+        }
+        long windowMs = Long.getLong("bot.trace.windowSeconds", 30) * 1000;
+        Path dir = Path.of(System.getProperty("bot.trace.dir", "traces"));
+        try {
+            BidTraceRecorder recorder = new BidTraceRecorder(context.tracing(), dir, windowMs, latencyBudgetMs, stats);
+            recorder.tracing.start(new Tracing.StartOptions()
+                .setScreenshots(true)
+                .setSnapshots(true));
+            recorder.chunkStartedMs = System.currentTimeMillis();
+            app.logMessage("🎞️ Rolling bid trace active - " + (windowMs / 1000) + "s window, saved to " + dir + " on failure");
+            return recorder;
+        } catch (Exception e) {
+            app.logMessage("⚠️ Could not start bid tracing: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Drops the current chunk once it is older than the window. Called every
+    // cycle and before each bid, so a saved trace always holds the whole bid.
+    public void rotateIfStale() {
+        if (System.currentTimeMillis() - chunkStartedMs < windowMs) {
+            return;
+        }
+        try {
+            tracing.stopChunk(); // No path - the chunk is discarded
+            tracing.startChunk();
+            chunkStartedMs = System.currentTimeMillis();
+            stats.increment("trace.chunks.discarded");
+        } catch (Exception e) {
+            // Tracing trouble must never break monitoring
+        }
+    }
+    
+    // Saves the window if the bid failed or took longer than its budget
+    public Path onBidFinished(String orderKey, boolean success, long latencyMs) {
+        if (success && latencyMs <= latencyBudgetMs.getAsLong()) {
+            return null;
+        }
+        try {
+            Files.createDirectories(outputDir);
+            String reason = success ? "slow-" + latencyMs + "ms" : "failed";
+            Path file = outputDir.resolve(safeFileName(orderKey) + "-" + reason + "-"
+                + LocalDateTime.now().format(FILE_TIME) + ".zip");
+            tracing.stopChunk(new Tracing.StopChunkOptions().setPath(file));
+            tracing.startChunk();
+            chunkStartedMs = System.currentTimeMillis();
+            stats.increment("trace.saved." + (success ? "slow" : "failed"));
+            return file;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    public void stop() {
+        try {
+            tracing.stop();
+        } catch (Exception e) {
+            // Context may already be gone
+        }
+    }
+    
+    private static String safeFileName(String orderKey) {
+        return orderKey == null ? "unknown" : orderKey.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -8,12 +8,13 @@ import java.awt.event.ActionListener;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 
-public class BidderApp extends JFrame {
+public class BidderApp extends JFrame implements BotListener {
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JTextField bidTextField;
     private JLabel foundOrdersLabel;
     private JLabel successfulBidsLabel;
+    private JLabel pendingRetriesLabel;
     private JLabel statusLabel;
     private JButton startButton;
     private JButton stopButton;
@@ -376,10 +377,15 @@ public class BidderApp extends JFrame {
         panel.add(successfulBidsPanel, gbc);
         
         // Success Rate Section
-        gbc.gridx = 0; gbc.gridy = 1; gbc.gridwidth = 2;
+        gbc.gridx = 0; gbc.gridy = 1;
         JPanel successRatePanel = createStatCard("📈 Success Rate", "0%", new Color(230, 126, 34));
         panel.add(successRatePanel, gbc);
         
+        // Pending Retries Section (failed bids waiting for backoff)
+        gbc.gridx = 1; gbc.gridy = 1;
+        JPanel pendingRetriesPanel = createStatCard("🔁 Pending Retries", "0", new Color(155, 89, 182));
+        panel.add(pendingRetriesPanel, gbc);
+        
         return panel;
     }
     
@@ -423,6 +429,8 @@ public class BidderApp extends JFrame {
             foundOrdersLabel = valueLabel;
         } else if (title.contains("Successful Bids")) {
             successfulBidsLabel = valueLabel;
+        } else if (title.contains("Pending Retries")) {
+            pendingRetriesLabel = valueLabel;
         }
         
         card.add(titleLabel, BorderLayout.NORTH);
@@ -546,16 +554,19 @@ public class BidderApp extends JFrame {
         startAnimationTimer.start();
         
         bot = new BidderBot(username, password, bidText, this);
+        BidderBot runningBot = bot;
         
-        // Start bot in separate thread
+        // Start bot in separate thread; Playwright cleanup happens on it too
         Thread botThread = new Thread(() -> {
             try {
-                bot.start();
+                runningBot.start();
             } catch (Exception e) {
                 SwingUtilities.invokeLater(() -> {
                     updateStatus("❌ Error: " + e.getMessage(), false);
                     stopBot();
                 });
+            } finally {
+                runningBot.stop();
             }
         });
         botThread.setDaemon(true);
@@ -570,8 +581,10 @@ public class BidderApp extends JFrame {
         // Stop animation
         stopAnimation();
         
+        // Only ends the monitor loop - the bot thread closes the browser,
+        // so the EDT never waits on Playwright or the worker threads
         if (bot != null) {
-            bot.stop();
+            bot.requestStop();
             bot = null;
         }
         
@@ -655,6 +668,7 @@ public class BidderApp extends JFrame {
     }
     
     // Method to show order found notification
+    @Override
     public void notifyOrderFound(String orderTitle) {
         SwingUtilities.invokeLater(() -> {
             updateStatus("🎯 Order Found: " + (orderTitle.length() > 50 ? orderTitle.substring(0, 50) + "..." : orderTitle), true);
@@ -686,9 +700,13 @@ public class BidderApp extends JFrame {
         });
     }
     
+    @Override
     public void logMessage(String message) {
         // Show ALL debugging messages in the GUI for order detection monitoring
         SwingUtilities.invokeLater(() -> {
+            JfrEvents.LogFlush flushEvent = new JfrEvents.LogFlush();
+            flushEvent.begin();
+            
             // Format timestamp
             String timestamp = java.time.LocalTime.now().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss"));
             String formattedMessage = "[" + timestamp + "] " + message;
@@ -728,19 +746,46 @@ public class BidderApp extends JFrame {
                 delayTimer.start();
             }
             
-            // Also print to console for terminal visibility
-            System.out.println(formattedMessage);
+            // Also print to console for terminal visibility (the event log's
+            // writer thread does that when it's on)
+            if (!AsyncEventLog.ownsConsole()) {
+                System.out.println(formattedMessage);
+            }
+            
+            flushEvent.messageLength = message.length();
+            flushEvent.logLines = logArea != null ? logArea.getLineCount() : 0;
+            flushEvent.commit();
         });
     }
     
+    @Override
     public void updateFoundOrders(int count) {
         SwingUtilities.invokeLater(() -> foundOrdersLabel.setText(String.valueOf(count)));
     }
     
+    @Override
     public void updateSuccessfulBids(int count) {
         SwingUtilities.invokeLater(() -> successfulBidsLabel.setText(String.valueOf(count)));
     }
     
+    @Override
+    public void updateRetryStats(int pending) {
+        SwingUtilities.invokeLater(() -> {
+            pendingRetriesLabel.setText(String.valueOf(pending));
+            // Per-order budgets are shown on hover
+            if (bot != null) {
+                StringBuilder tooltip = new StringBuilder("<html>");
+                bot.getStatsSnapshot().forEach((name, value) -> {
+                    if (name.startsWith("retry.budget.")) {
+                        tooltip.append(name.substring("retry.budget.".length()))
+                            .append(": ").append(value).append(" left<br>");
+                    }
+                });
+                pendingRetriesLabel.setToolTipText(tooltip.append("</html>").toString());
+            }
+        });
+    }
+    
     public boolean isRunning() {
         return isRunning;
     }
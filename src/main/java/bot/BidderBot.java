@@ -1,10 +1,14 @@
 package bot;
 
 import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.HarContentPolicy;
+import com.microsoft.playwright.options.HarNotFound;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.microsoft.playwright.options.WaitUntilState;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -12,7 +16,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,13 +45,34 @@ public class BidderBot {
             this.url = url;
         }
     }
+    
+    // A detected order waiting for its bid; the container is found again by
+    // order key on the tab that saw it
+    private static class PendingBid {
+        final String orderKey;
+        final String url;
+        final String title;
+        final Page source;
+        final String href; // The link's href as scanned, or null (push, plugins)
+        
+        PendingBid(String orderKey, String url, String title, Page source, String href) {
+            this.orderKey = orderKey;
+            this.url = url;
+            this.title = title;
+            this.source = source;
+            this.href = href;
+        }
+    }
     // REMOVED: Complex subject templates and expertise maps no longer needed
     // for detection-only mode
     
     private final String username;
     private final String password;
     private final String bidText;
-    private final BidderApp app;
+    private final BotListener app;
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+    private final String botId = String.valueOf(INSTANCES.incrementAndGet()); // Tags this bot's event log lines
+    private volatile AsyncEventLog eventLog; // Shared by every bot in the process; null unless -Dbot.eventLog
     
     private Playwright playwright;
     private Browser browser;
@@ -51,19 +81,108 @@ public class BidderBot {
     
     private volatile boolean running = false;
     private int foundOrders = 0;
-    private int successfulBids = 0;
-    private Set<String> processedOrders = new HashSet<>();
+    private final AtomicInteger successfulBids = new AtomicInteger(); // Monitor and retry threads
+    private final LongSeenSet processedOrders = new LongSeenSet(24 * 60 * 60_000L); // Shared by all shards; TTL follows dedupe.ttlMinutes
+    private final Queue<PendingBid> bidQueue = new ConcurrentLinkedQueue<>();
+    private SharedOrderTable sharedClaims; // Cross-process claims (-Dbot.sharedDedupe)
+    private final List<ScanShard> shards = new ArrayList<>();
     private int pollingDots = 0;
     
     // BID PLACEMENT CONFIGURATION
-    private boolean bidPlacementEnabled = false; // Toggle for bid placement
+    private volatile boolean bidPlacementEnabled = false; // Toggle for bid placement
     private int maxBidAttempts = 3; // Maximum attempts per order
-    private int bidTimeoutMs = 2000; // Timeout for bid operations
+    
+    // LIVE CONFIG - timings and selectors (see BotConfig). The watcher thread
+    // publishes new snapshots; the monitor thread adopts one per cycle.
+    private volatile BotConfig latestConfig = BotConfig.defaults();
+    private final Map<String, String> apiOverrides = new LinkedHashMap<>(); // updateConfig() keys, kept across file reloads
+    private volatile BotConfig config = latestConfig; // Also read by the retry thread
+    private ConfigWatcher configWatcher;
+    
+    // RETRY PIPELINE - failed bids are retried on their own thread and
+    // browser (see BidRetryWorker), never on the search page
+    private final BotStats stats = new BotStats();
+    private final BidRetryScheduler retryScheduler;
+    private BidRetryWorker retryWorker;
+    
+    // HOT STANDBY - a loaded spare tab per shard, swapped in when the active
+    // one stalls, crashes or leaves the search (-Dbot.standby)
+    private SearchWatchdog watchdog;
+    private final Set<Page> crashedTabs = ConcurrentHashMap.newKeySet();
+    
+    // SINGLE-FLIGHT FILTER REFRESH - per search tab, when its unanswered refresh was sent
+    private final Map<Page, Long> refreshesInFlight = new ConcurrentHashMap<>();
+    private final Set<Page> refreshWatchedTabs = ConcurrentHashMap.newKeySet();
+    private final Map<Page, Long> sentRefreshes = new HashMap<>(); // Shard tab -> click time (nanos) this cycle, monitor thread only
+    private final Set<Page> loadedTabs = ConcurrentHashMap.newKeySet();
+    private static final long STANDBY_LOAD_TIMEOUT_MS = 30000;
+    
+    // STATIC ASSET CACHE - bundles, CSS and fonts served from disk (-Dbot.assetCache)
+    private StaticAssetCache assetCache;
+    
+    // PLUGGABLE ENGINE - order sources and bid strategies (see AdaptiveChain)
+    private final List<OrderSource> extraSources = new ArrayList<>();
+    private final List<BidStrategy> extraStrategies = new ArrayList<>();
+    private final Set<OrderSource> builtInSources = new HashSet<>(); // Their failures end the cycle
+    private AdaptiveChain<OrderSource> orderSources;
+    private AdaptiveChain<BidStrategy> bidStrategies;
+    private boolean deepCycle; // This cycle's scans go past the first result page(s)
+    
+    // CONTEXT RECYCLING - a fresh context (or fresh tabs) from the same storage
+    // state, prepared alongside the old one and swapped in during a lull (-Dbot.recycle)
+    private ContextRecycler recycler;
+    private BrowserContext nextContext; // Being prepared while the old one keeps scanning
+    private List<Page> nextPages;       // One per shard, loading in nextContext
+    private long recycleStartedMs;
+    private int cycleNewOrders;         // New orders found this cycle
+    
+    // DOM MAINTENANCE - infinite scroll only ever adds order nodes, so seen
+    // ones can be removed between cycles (dom.* config keys)
+    private final Map<Page, Set<String>> scannedHrefs = new IdentityHashMap<>(); // Only with dom.pruneSeen
+    private long cycleDomNodes = -1;
+    private static final String HEAP_SCRIPT = "() => performance.memory ? performance.memory.usedJSHeapSize : 0";
+    
+    // PER-BID STATE - bids run on the monitor thread and on the retry thread,
+    // so what the bid steps leave behind is kept per thread
+    private static class BidState {
+        FailureClass failure;   // Set by every failing bid step
+        boolean unconfirmed;    // Set by submitBid: sent, but the modal never closed within budget
+        String strategy;        // Strategy that placed the last successful bid
+        String orderKey;        // Order the running bid steps belong to
+        String selector;        // Selector the last cascade settled on
+    }
+    private final ThreadLocal<BidState> bidStates = ThreadLocal.withInitial(BidState::new);
+    
+    // HAR HARNESS - record real traffic, or replay it with no network access
+    private Path harRecordPath;
+    private Path harReplayPath;
+    private int cycleLimit = 0; // 0 = run until stopped
+    private boolean headless = false;
+    private FaultProfile faultProfile; // Simulated site faults (harness only)
+    
+    // WARM ATTACH - reuse a long-lived Chromium (-Dbot.cdp) instead of launching one
+    private boolean attachedOverCDP = false;
+    
+    // ORDER HISTORY - every sighting with bid count and budget (-Dbot.history)
+    private OrderHistoryStore historyStore;
+    
+    // RPC ACCOUNTING - driver round trips per cycle and per bid (-Dbot.rpc)
+    private RpcMeter rpcMeter;
+    
+    // BID OUTCOMES - accepted/rejected per bid, joined with latency (-Dbot.outcomes)
+    private BidOutcomeTracker outcomeTracker;
+    
+    // FLIGHT RECORDER - JFR events per pipeline stage (see JfrEvents)
+    private BotFlightRecorder flightRecorder;
+    
+    // ROLLING BID TRACE - saved only when a bid fails or runs slow
+    private BidTraceRecorder traceRecorder;
+    
+    // PUSH ORDER SOURCE - orders announced over the page's WebSocket
+    private WebSocketOrderSource pushSource;
+    private DetectionDeltaRecorder detectionDeltas; // Push vs poll comparison
     
     // ULTRA-AGGRESSIVE BIDDING STRATEGY CONFIGURATION
-    private int scanList = 1;
-    private int fullScanInterval = 10;
-    private int fullScanDepthLimit = 3;
     private int currentCycle = 0;
     private int refreshRate = 0; // INSTANT - NO DELAYS for competitive bidding
     // Removed: accumulatedOrders - now processing directly from search page
@@ -75,26 +194,22 @@ public class BidderBot {
     private static final String LOGIN_URL = BASE_URL + "/login";
     private static final String ORDERS_URL = BASE_URL + "/order/search";
     private static final String STORAGE_STATE_PATH = "session.json";
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36";
     
     // Selectors
     private static final String USERNAME_SELECTOR = "input[name='email'], input[type='email']";
     private static final String PASSWORD_SELECTOR = "input[name='password'], input[type='password']";
     private static final String LOGIN_BUTTON_SELECTOR = "button[type='submit'], input[type='submit']";
-    private static final String ORDER_LINK_SELECTOR = ".orderA-converted__name";
-    private static final String BID_BUTTON_SELECTOR = "button.styled__MakeBidButton-sc-18augvm-9, button[data-testid*='MakeBid'], button:has-text('Place a Bid')";
-    private static final String BID_TEXT_SELECTOR = ".auctionTextarea-converted__textarea, textarea[name='message'], textarea[placeholder*='bid']";
-    private static final String SUBMIT_BID_SELECTOR = "button[type='submit']:has-text('Submit'), button:has-text('Send Bid'), button.styled__StyledButton-sc-6klmhm-0";
+    // Order, filter and bid form selectors are tunable - see BotConfig
     
-    // AJAX FILTER EXPLOITATION SELECTORS
-    private static final String FILTER_APPLY_SELECTOR = ".filter-converted__apply";
-    private static final String ORDER_CONTAINER_SELECTOR = "div.orderA-converted__contentWrapper";
-    
-    public BidderBot(String username, String password, String bidText, BidderApp app) {
+    public BidderBot(String username, String password, String bidText, BotListener app) {
         this.username = username;
         this.password = password;
         this.bidText = bidText;
-        this.app = app;
+        this.eventLog = AsyncEventLog.acquire();
+        this.app = eventLog == null ? app : eventLog.tee(botId, app);
         this.bidPlacementEnabled = !bidText.equals("DETECTION_ONLY");
+        this.retryScheduler = new BidRetryScheduler(maxBidAttempts, stats);
         // REMOVED: Complex template initialization - not needed for detection-only mode
     }
     
@@ -103,99 +218,282 @@ public class BidderBot {
     public void start() throws Exception {
         running = true;
         app.logMessage("Initializing Playwright...");
+        flightRecorder = BotFlightRecorder.fromSystemProperties(app);
+        loadConfig();
+        openSharedClaims();
+        historyStore = OrderHistoryStore.fromSystemProperties(app);
+        outcomeTracker = BidOutcomeTracker.fromSystemProperties(BASE_URL, stats, app);
+        rpcMeter = RpcMeter.fromSystemProperties(stats, app);
+        assetCache = StaticAssetCache.fromSystemProperties(stats, app);
         
+        long startupBegin = System.nanoTime();
         playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-            .setHeadless(false)
-            .setSlowMo(1000));
-        
-        // Create context with session persistence
-        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
-            .setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36")
-            .setViewportSize(1280, 800);
         
         Path sessionPath = Path.of(STORAGE_STATE_PATH);
-        if (Files.exists(sessionPath)) {
-            contextOptions.setStorageStatePath(sessionPath);
-            app.logMessage("Loading existing session...");
+        String cdpEndpoint = System.getProperty("bot.cdp");
+        String userDataDir = System.getProperty("bot.userDataDir");
+        if (cdpEndpoint != null) {
+            attachOverCDP(cdpEndpoint);
+        } else if (userDataDir != null) {
+            launchPersistentContext(Path.of(userDataDir));
+        } else {
+            launchNewContext(sessionPath);
         }
         
-        context = browser.newContext(contextOptions);
-        page = context.newPage();
+        configureContext(context);
+        retryWorker = new BidRetryWorker(retryScheduler, this::isBidPlacementEnabled, this::configureContext,
+            this::runRetry, this::onRetryTabFailed, app);
+        retryWorker.start();
+        if (harReplayPath != null) {
+            app.logMessage("📼 Replaying HAR from " + harReplayPath);
+        }
+        if (faultProfile != null) {
+            app.logMessage("💣 Injecting faults: " + faultProfile);
+        }
+        boolean warmTab = page != null; // Search tab left open by a previous run
+        if (!warmTab) {
+            page = context.newPage();
+        }
+        page = metered(page);
+        
+        // Listen before the search page opens its socket (-Dbot.ws / -Dbot.ws.compare)
+        if (Boolean.getBoolean("bot.ws")) {
+            pushSource = new WebSocketOrderSource(stats);
+            pushSource.attach(page);
+            if (Boolean.getBoolean("bot.ws.compare")) {
+                detectionDeltas = new DetectionDeltaRecorder(stats);
+            }
+            app.logMessage("⚡ WebSocket order source active" + (detectionDeltas != null ? " (comparing with poll)" : ""));
+        }
         
         // Set timeouts
         page.setDefaultTimeout(30000);
         page.setDefaultNavigationTimeout(60000);
         
-        // Login if needed
-        if (!Files.exists(sessionPath) || !isLoggedIn()) {
+        traceRecorder = BidTraceRecorder.fromSystemProperties(context, () -> config.bidTimeoutMs, stats, app);
+        
+        // Login if needed (a replayed session was already logged in when recorded)
+        if (harReplayPath != null) {
+            app.logMessage("Skipping login check in replay mode");
+        } else if (warmTab) {
+            app.logMessage("♨️ Reusing warm search tab: " + page.url());
+        } else if (!Files.exists(sessionPath) || !isLoggedIn()) {
             login();
         } else {
             app.logMessage("Using existing session");
         }
         
+        long startupMs = (System.nanoTime() - startupBegin) / 1_000_000;
+        stats.recordLatency("startup", startupMs);
+        app.logMessage("⏱️ Ready to monitor in " + startupMs + "ms");
+        
         // Start monitoring orders
         monitorOrders();
     }
     
+    // Routes and listeners every context gets, including recycled ones
+    private void configureContext(BrowserContext target) {
+        if (harReplayPath != null) {
+            // Anything not in the recording is aborted - replay never hits the network
+            target.routeFromHAR(harReplayPath, new BrowserContext.RouteFromHAROptions()
+                .setNotFound(HarNotFound.ABORT));
+        } else if (assetCache != null) {
+            assetCache.install(target);
+        }
+        if (faultProfile != null) {
+            new FaultInjector(faultProfile, stats).install(target);
+        }
+        target.onRequest(request -> stats.increment("net.requests." + request.resourceType()));
+    }
+    
+    // Debugging only (-Dbot.slowMo=<ms>): every Playwright action is delayed,
+    // so a bid can't finish within bid.timeoutMs
+    private static final int SLOW_MO_MS = Integer.getInteger("bot.slowMo", 0);
+    
+    static Browser.NewContextOptions baseContextOptions() {
+        return new Browser.NewContextOptions()
+            .setUserAgent(USER_AGENT)
+            .setViewportSize(1280, 800);
+    }
+    
+    // Cold start: new Chromium, new context rebuilt from session.json
+    private void launchNewContext(Path sessionPath) {
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions().setHeadless(headless);
+        if (SLOW_MO_MS > 0) {
+            launchOptions.setSlowMo(SLOW_MO_MS);
+        }
+        browser = playwright.chromium().launch(launchOptions);
+        
+        // Create context with session persistence
+        Browser.NewContextOptions contextOptions = baseContextOptions();
+        
+        if (Files.exists(sessionPath)) {
+            contextOptions.setStorageStatePath(sessionPath);
+            app.logMessage("Loading existing session...");
+        }
+        
+        if (harRecordPath != null) {
+            // Embedded bodies keep the recording a single self-contained file
+            contextOptions.setRecordHarPath(harRecordPath)
+                .setRecordHarContent(HarContentPolicy.EMBED);
+            app.logMessage("📼 Recording HAR to " + harRecordPath);
+        }
+        
+        context = browser.newContext(contextOptions);
+    }
+    
+    // -Dbot.userDataDir: cookies, cache and storage live in a profile directory,
+    // so restarts skip the session.json rebuild and start with a warm HTTP cache
+    private void launchPersistentContext(Path userDataDir) {
+        BrowserType.LaunchPersistentContextOptions options = new BrowserType.LaunchPersistentContextOptions()
+            .setHeadless(headless)
+            .setUserAgent(USER_AGENT)
+            .setViewportSize(1280, 800);
+        if (SLOW_MO_MS > 0) {
+            options.setSlowMo(SLOW_MO_MS);
+        }
+        if (harRecordPath != null) {
+            options.setRecordHarPath(harRecordPath)
+                .setRecordHarContent(HarContentPolicy.EMBED);
+            app.logMessage("📼 Recording HAR to " + harRecordPath);
+        }
+        context = playwright.chromium().launchPersistentContext(userDataDir, options);
+        app.logMessage("🗂️ Using persistent profile " + userDataDir);
+    }
+    
+    // -Dbot.cdp=http://localhost:9222: attach to a Chromium that outlives the
+    // JVM and pick up its search tab as-is - no launch, no login, no page load.
+    // stop() only closes the tabs this run opened and disconnects.
+    private void attachOverCDP(String endpoint) {
+        browser = playwright.chromium().connectOverCDP(endpoint);
+        attachedOverCDP = true;
+        if (browser.contexts().isEmpty()) {
+            context = browser.newContext(new Browser.NewContextOptions()
+                .setUserAgent(USER_AGENT)
+                .setViewportSize(1280, 800));
+        } else {
+            context = browser.contexts().get(0);
+            for (Page existing : context.pages()) {
+                if (existing.url().contains("/order/search")) {
+                    page = existing;
+                    break;
+                }
+            }
+        }
+        if (harRecordPath != null) {
+            app.logMessage("⚠️ HAR recording needs a launched context - not recording over CDP");
+        }
+        app.logMessage("🔌 Attached to Chromium at " + endpoint);
+    }
+    
+    // -Dbot.sharedDedupe=<file>: bots on this machine claim orders through one
+    // memory-mapped table, so side-by-side instances never bid on the same order
+    private void openSharedClaims() {
+        String file = System.getProperty("bot.sharedDedupe");
+        if (file == null) {
+            return;
+        }
+        try {
+            sharedClaims = SharedOrderTable.open(Path.of(file), Integer.getInteger("bot.sharedDedupe.slots", 1 << 18));
+            app.logMessage("🤝 Sharing order claims through " + file);
+        } catch (Exception e) {
+            app.logMessage("⚠️ Could not open shared dedupe table " + file + ", deduping locally: " + e.getMessage());
+        }
+    }
+    
+    // Reads -Dbot.config (default bidder.properties) if present and watches it
+    // for edits, so timings and selectors can be tuned without a restart
+    private void loadConfig() {
+        Path configPath = Path.of(System.getProperty("bot.config", "bidder.properties"));
+        if (!Files.exists(configPath)) {
+            return;
+        }
+        BotConfig fromFile = BotConfig.defaults();
+        try {
+            fromFile = BotConfig.load(configPath);
+            applyFileConfig(fromFile);
+            config = latestConfig;
+            app.logMessage("🔧 Loaded config from " + configPath);
+        } catch (Exception e) {
+            app.logMessage("⚠️ Config " + configPath + " not applied, using defaults: " + e.getMessage());
+        }
+        try {
+            configWatcher = new ConfigWatcher(configPath, fromFile, stats, app, this::applyFileConfig);
+            configWatcher.start();
+            app.logMessage("👀 Watching " + configPath + " for changes");
+        } catch (Exception e) {
+            app.logMessage("⚠️ Could not watch " + configPath + ": " + e.getMessage());
+        }
+    }
+    
     private boolean isLoggedIn() {
+        JfrEvents.SessionCheck event = new JfrEvents.SessionCheck();
+        event.begin();
+        boolean loggedIn = checkLoginState();
+        event.url = page.url();
+        event.loggedIn = loggedIn;
+        event.commit();
+        return loggedIn;
+    }
+    
+    private boolean checkLoginState() {
         try {
             // First check current URL without navigation
             String currentUrl = page.url();
-            System.out.println("Current URL: " + currentUrl); // Debug
+            debug("Current URL: " + currentUrl); // Debug
             
             // If we're already on orders page, check for login indicators
             if (currentUrl.contains("/order/search") || currentUrl.contains("/orders")) {
                 // Check if page has login form (indicates not logged in)
                 try {
                     page.locator(USERNAME_SELECTOR + ", " + PASSWORD_SELECTOR).first().waitFor(new Locator.WaitForOptions().setTimeout(2000));
-                    System.out.println("Found login form on orders page - not logged in");
+                    debug("Found login form on orders page - not logged in");
                     return false; // Found login form, not logged in
                 } catch (Exception e) {
                     // No login form found, check for order content
                     try {
                         page.locator(".order, .orderA, [class*='order'], .search-form").first().waitFor(new Locator.WaitForOptions().setTimeout(3000));
-                        System.out.println("Found order content - logged in");
+                        debug("Found order content - logged in");
                         return true;
                     } catch (Exception ex) {
-                        System.out.println("No order content found - assuming not logged in");
+                        debug("No order content found - assuming not logged in");
                         return false;
                     }
                 }
             }
             
             // If not on orders page, need to navigate once to test
-            System.out.println("Not on orders page, navigating to test login status...");
+            debug("Not on orders page, navigating to test login status...");
             page.navigate(ORDERS_URL, new Page.NavigateOptions().setWaitUntil(WaitUntilState.NETWORKIDLE));
             Thread.sleep(3000); // Give more time for potential redirects
             
             // Check final URL after navigation
             currentUrl = page.url();
-            System.out.println("After navigation, URL: " + currentUrl);
+            debug("After navigation, URL: " + currentUrl);
             
             if (currentUrl.contains("login") || currentUrl.contains("signin")) {
-                System.out.println("Redirected to login page - not logged in");
+                debug("Redirected to login page - not logged in");
                 return false;
             }
             
             // Check if we can see order-related content (indicates logged in)
             try {
                 page.locator(".order, .orderA, [class*='order'], h1, .search-form").first().waitFor(new Locator.WaitForOptions().setTimeout(5000));
-                System.out.println("Found order content after navigation - logged in");
+                debug("Found order content after navigation - logged in");
                 return true;
             } catch (Exception e) {
                 // Final check for login form
                 try {
                     page.locator(USERNAME_SELECTOR + ", " + PASSWORD_SELECTOR).first().waitFor(new Locator.WaitForOptions().setTimeout(2000));
-                    System.out.println("Found login form after navigation - not logged in");
+                    debug("Found login form after navigation - not logged in");
                     return false; // Found login form
                 } catch (Exception ex) {
-                    System.out.println("No login form found, assuming logged in");
+                    debug("No login form found, assuming logged in");
                     return true; // No login form, assume logged in
                 }
             }
         } catch (Exception e) {
-            System.out.println("Exception in isLoggedIn: " + e.getMessage());
+            debug("Exception in isLoggedIn: " + e.getMessage());
             return false;
         }
     }
@@ -265,216 +563,1237 @@ public class BidderBot {
         // Ensure we're on the search page and stay there
         String currentUrl = page.url();
         if (!currentUrl.contains("/order/search")) {
-            System.out.println("Not on search page, navigating: " + currentUrl);
+            debug("Not on search page, navigating: " + currentUrl);
             page.navigate(ORDERS_URL, new Page.NavigateOptions().setWaitUntil(WaitUntilState.NETWORKIDLE));
             Thread.sleep(3000);
         }
-        
-        System.out.println("Starting monitoring loop on: " + page.url());
-        
-        while (running) {
+        
+        if (Boolean.getBoolean("bot.standby")) {
+            watchdog = new SearchWatchdog(config.standbyStallMs, stats, app);
+            watchTab(page);
+        }
+        if (Boolean.getBoolean("bot.recycle")) {
+            recycler = new ContextRecycler();
+            app.logMessage("♻️ Recycling the browser context on schedule or when it slows down"
+                + (canReplaceContext() ? "" : " (tabs only - persistent profile, CDP or HAR recording)"));
+        }
+        openShards();
+        if (watchdog != null) {
+            for (ScanShard shard : shards) {
+                shard.standby = openShardPage();
+                loadStandby(shard);
+            }
+            app.logMessage("🔥 Loading a standby tab for each of " + shards.size() + " search shard(s)");
+        }
+        buildPluginChains();
+        debug("Starting monitoring loop on: " + shards);
+        
+        while (running && (cycleLimit == 0 || currentCycle < cycleLimit)) {
+            long cycleStart = System.nanoTime();
+            JfrEvents.MonitorCycle cycleEvent = new JfrEvents.MonitorCycle();
+            cycleEvent.begin();
+            if (rpcMeter != null) {
+                rpcMeter.beginCycle();
+            }
+            try {
+                currentCycle++;
+                cycleNewOrders = 0;
+                config = latestConfig; // One config snapshot per cycle
+                processedOrders.setTtlMs(config.seenTtlMinutes * 60_000L);
+                
+                // Every source (WebSocket push, each shard tab, plugins) runs in
+                // chain order; bids go out as soon as the source that found them is done
+                deepCycle = config.fullScanInterval > 0 && currentCycle % config.fullScanInterval == 0;
+                sendShardRefreshes();
+                for (OrderSource source : orderSources.plugins()) {
+                    runOrderSource(source);
+                    placeQueuedBids();
+                }
+                
+                // Queued bids are placed by now, so seen orders' nodes can go
+                if (config.domCheckEvery > 0 && currentCycle % config.domCheckEvery == 0) {
+                    maintainDom();
+                }
+                
+                // Failed search tabs are rebuilt here, after the cycle's real work
+                if (watchdog != null) {
+                    maintainStandbys();
+                }
+                if (recycler != null) {
+                    maintainRecycle();
+                }
+                
+                // The outcome poller reads bids with a copy of this session
+                if (outcomeTracker != null && outcomeTracker.wantsSession()) {
+                    outcomeTracker.updateSession(context.storageState());
+                }
+                if (retryWorker.wantsSession()) {
+                    retryWorker.updateSession(context.storageState());
+                }
+                
+                // Cycle time excludes the pacing sleep below
+                finishCycle(cycleEvent, cycleStart);
+                
+                // ULTRA-FAST timing - minimal delays for instant capture
+                Thread.sleep(config.cycleDelayMs); // 100ms delay between cycles by default
+                
+            } catch (Exception e) {
+                debug("Error in monitoring loop: " + e.getMessage());
+                stats.increment("cycle.errors");
+                Thread.sleep(config.errorBackoffMs); // Quick recovery
+            }
+        }
+    }
+    
+    // Records cycle time, emits the JFR event and dumps the flight recording
+    // when the cycle crossed the slow-cycle threshold
+    private void finishCycle(JfrEvents.MonitorCycle cycleEvent, long cycleStart) {
+        long cycleMs = (System.nanoTime() - cycleStart) / 1_000_000;
+        stats.recordLatency("cycle", cycleMs);
+        if (recycler != null) {
+            recycler.onCycle(cycleMs, cycleNewOrders);
+        }
+        cycleEvent.cycle = currentCycle;
+        cycleEvent.seenOrders = processedOrders.size();
+        if (rpcMeter != null) {
+            cycleEvent.rpcCalls = rpcMeter.endCycle().calls();
+        }
+        cycleEvent.domNodes = cycleDomNodes;
+        cycleDomNodes = -1;
+        cycleEvent.commit();
+        if (historyStore != null) {
+            try {
+                historyStore.flush();
+            } catch (Exception e) {
+                app.logMessage("⚠️ Order history write failed: " + e.getMessage());
+            }
+        }
+        if (assetCache != null) {
+            assetCache.flush(); // Stores only mark the index dirty
+        }
+        if (traceRecorder != null) {
+            traceRecorder.rotateIfStale();
+        }
+        if (flightRecorder != null) {
+            Path dump = flightRecorder.onCycleFinished(currentCycle, cycleMs);
+            if (dump != null) {
+                app.logMessage("🛩️ Slow cycle (" + cycleMs + "ms) - flight recording saved to " + dump);
+            }
+        }
+    }
+    
+    // SHARDED SCANNING - with -Dbot.shards="category=12;category=14" each filter
+    // query gets its own tab in the same context (the first one reuses the main
+    // page). Without it the main page scans the whole search as one shard.
+    // Playwright objects are single-threaded, so the shards take turns on the
+    // monitor thread; the win is the smaller result set each tab extracts.
+    private void openShards() {
+        List<String> filters = ScanShard.parseFilters(System.getProperty("bot.shards"));
+        if (filters.isEmpty()) {
+            shards.add(new ScanShard("all", ORDERS_URL, page));
+            return;
+        }
+        for (String filter : filters) {
+            String url = ScanShard.urlFor(ORDERS_URL, filter);
+            Page shardPage = shards.isEmpty() ? page : openShardPage();
+            try {
+                shardPage.navigate(url);
+            } catch (Exception e) {
+                app.logMessage("⚠️ Shard " + filter + " failed to load, will retry next cycle: " + e.getMessage());
+            }
+            shards.add(new ScanShard(filter, url, shardPage));
+        }
+        app.logMessage("🧩 Scanning " + shards.size() + " search shards: " + filters);
+    }
+    
+    private Page openShardPage() {
+        return openShardPage(context);
+    }
+    
+    private Page openShardPage(BrowserContext owner) {
+        Page shardPage = metered(owner.newPage());
+        shardPage.setDefaultTimeout(30000);
+        shardPage.setDefaultNavigationTimeout(60000);
+        shardPage.onLoad(loaded -> loadedTabs.add(shardPage));
+        if (watchdog != null) {
+            watchTab(shardPage);
+        }
+        if (pushSource != null) {
+            pushSource.attach(shardPage);
+        }
+        return shardPage;
+    }
+    
+    // With a standby to fall back on, a search tab doesn't get to block for
+    // the full 30s/60s - its calls time out after the stall period. Crash and
+    // load events only set flags; they are handled on the next cycle.
+    private void watchTab(Page tab) {
+        tab.setDefaultTimeout(config.standbyStallMs);
+        tab.setDefaultNavigationTimeout(config.standbyStallMs);
+        tab.onCrash(crashed -> crashedTabs.add(tab));
+    }
+    
+    // A fresh context needs a launched browser; a persistent profile or an
+    // attached browser gets fresh tabs in its one context instead. A HAR
+    // recording is tied to its context, so it also keeps the context.
+    private boolean canReplaceContext() {
+        return browser != null && !attachedOverCDP && harRecordPath == null;
+    }
+    
+    // Runs between cycles: samples the search tabs' JS heap now and then,
+    // starts a recycle when one is due, or moves a running one forward
+    private void maintainRecycle() {
+        if (nextPages != null) {
+            advanceRecycle();
+            return;
+        }
+        if (recycler.heapSampleDue(currentCycle)) {
+            long heapBytes = 0;
+            for (ScanShard shard : shards) {
+                try {
+                    heapBytes += ((Number) shard.page.evaluate(HEAP_SCRIPT)).longValue();
+                } catch (Exception e) {
+                    // A tab mid-reload just skips this sample
+                }
+            }
+            recycler.recordHeapMb(heapBytes / (1024 * 1024));
+            stats.recordLatency("recycle.heapMb", heapBytes / (1024 * 1024));
+        }
+        boolean busy = !bidQueue.isEmpty() || retryScheduler.pendingCount() > 0;
+        String reason = recycler.dueReason(config, busy);
+        if (reason != null) {
+            beginRecycle(reason);
+        }
+    }
+    
+    // Opens the replacement context and its search tabs. The tabs only wait
+    // for the first response byte; the old tabs keep scanning until the new
+    // ones have loaded.
+    private void beginRecycle(String reason) {
+        app.logMessage("♻️ Recycling browser context (" + reason + ") - preparing a fresh one alongside");
+        recycleStartedMs = System.currentTimeMillis();
+        nextPages = new ArrayList<>();
+        try {
+            if (canReplaceContext()) {
+                // Cookies and local storage carry over; the seen set lives in this JVM anyway
+                nextContext = browser.newContext(baseContextOptions().setStorageState(context.storageState()));
+                configureContext(nextContext);
+            } else {
+                nextContext = context;
+            }
+            for (ScanShard shard : shards) {
+                Page tab = openShardPage(nextContext);
+                nextPages.add(tab);
+                tab.navigate(shard.searchUrl, new Page.NavigateOptions()
+                    .setWaitUntil(WaitUntilState.COMMIT)
+                    .setTimeout(STANDBY_LOAD_TIMEOUT_MS));
+            }
+        } catch (Exception e) {
+            abortRecycle("could not open the new context: " + e.getMessage());
+        }
+    }
+    
+    // Swaps every shard to its new tab once all of them have loaded, then
+    // closes the old context (or the old tabs when the context is kept)
+    private void advanceRecycle() {
+        for (Page tab : nextPages) {
+            if (!loadedTabs.contains(tab)) {
+                if (System.currentTimeMillis() - recycleStartedMs > STANDBY_LOAD_TIMEOUT_MS) {
+                    abortRecycle("new tabs did not load in " + STANDBY_LOAD_TIMEOUT_MS + "ms");
+                }
+                return;
+            }
+        }
+        
+        long swapStart = System.nanoTime();
+        List<Page> oldTabs = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            ScanShard shard = shards.get(i);
+            boolean mainTab = shard.page == page;
+            oldTabs.add(shard.page);
+            shard.page = nextPages.get(i);
+            if (mainTab) {
+                page = shard.page;
+            }
+            if (shard.standby != null) {
+                oldTabs.add(shard.standby);
+                shard.standbyState = ScanShard.Standby.REBUILD; // Rebuilt in the new context next cycle
+            }
+        }
+        
+        if (nextContext != context) {
+            BrowserContext oldContext = context;
+            context = nextContext;
+            if (traceRecorder != null) {
+                traceRecorder.stop();
+                traceRecorder = BidTraceRecorder.fromSystemProperties(context, () -> config.bidTimeoutMs, stats, app);
+            }
+            oldContext.close();
+        } else {
+            for (Page tab : oldTabs) {
+                if (!tab.isClosed()) {
+                    tab.close();
+                }
+            }
+        }
+        for (Page tab : oldTabs) {
+            crashedTabs.remove(tab);
+            loadedTabs.remove(tab);
+            refreshesInFlight.remove(tab);
+            refreshWatchedTabs.remove(tab);
+        }
+        
+        stats.increment("recycle.count");
+        stats.recordLatency("recycle.prepare", System.currentTimeMillis() - recycleStartedMs);
+        stats.recordLatency("recycle.swap", (System.nanoTime() - swapStart) / 1_000_000);
+        app.logMessage("♻️ Switched to fresh " + (canReplaceContext() ? "context" : "tabs") + " after "
+            + (System.currentTimeMillis() - recycleStartedMs) + "ms of background loading");
+        nextPages = null;
+        nextContext = null;
+        recycler.onRecycled();
+    }
+    
+    private void abortRecycle(String why) {
+        app.logMessage("⚠️ Context recycle abandoned, keeping the current one: " + why);
+        stats.increment("recycle.aborted");
+        try {
+            if (nextContext != null && nextContext != context) {
+                nextContext.close();
+            } else {
+                for (Page tab : nextPages) {
+                    if (!tab.isClosed()) {
+                        tab.close();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+        for (Page tab : nextPages) {
+            loadedTabs.remove(tab);
+        }
+        nextPages = null;
+        nextContext = null;
+        recycler.onAborted();
+    }
+    
+    // Starts loading the search into the shard's standby tab without waiting
+    // for more than the first response byte; the load event marks it ready
+    private void loadStandby(ScanShard shard) {
+        loadedTabs.remove(shard.standby);
+        shard.standbyState = ScanShard.Standby.LOADING;
+        shard.standbySinceMs = System.currentTimeMillis();
+        try {
+            shard.standby.navigate(shard.searchUrl, new Page.NavigateOptions()
+                .setWaitUntil(WaitUntilState.COMMIT)
+                .setTimeout(config.standbyStallMs));
+        } catch (Exception e) {
+            app.logMessage("⚠️ Standby tab for shard " + shard.name + " failed to load: " + e.getMessage());
+            shard.standbyState = ScanShard.Standby.REBUILD;
+        }
+    }
+    
+    // Swaps the shard's ready standby tab in. Returns false (and the caller
+    // falls back to reloading in place) when there is no ready standby.
+    private boolean failOver(ScanShard shard, String reason) {
+        if (watchdog == null) {
+            return false;
+        }
+        if (shard.standbyState != ScanShard.Standby.READY) {
+            stats.increment("standby.unavailable");
+            return false;
+        }
+        long swapStart = System.nanoTime();
+        boolean mainTab = shard.page == page;
+        shard.failOver();
+        if (mainTab) {
+            page = shard.page;
+        }
+        stats.increment("standby.failovers");
+        stats.recordLatency("standby.swap", (System.nanoTime() - swapStart) / 1_000_000);
+        app.logMessage("🔀 Shard " + shard.name + " " + reason + " - switched to its standby tab");
+        return true;
+    }
+    
+    // One step per shard per cycle: replace a failed tab with a fresh one,
+    // or promote a loaded standby to ready. Nothing here waits for a load.
+    private void maintainStandbys() {
+        watchdog.setStallMs(config.standbyStallMs);
+        for (ScanShard shard : shards) {
+            try {
+                switch (shard.standbyState) {
+                    case REBUILD:
+                        Page failed = shard.standby;
+                        crashedTabs.remove(failed);
+                        loadedTabs.remove(failed);
+                        refreshesInFlight.remove(failed);
+                        refreshWatchedTabs.remove(failed);
+                        if (!failed.isClosed()) {
+                            failed.close();
+                        }
+                        shard.standby = openShardPage();
+                        loadStandby(shard);
+                        stats.increment("standby.rebuilds");
+                        break;
+                    case LOADING:
+                        if (loadedTabs.contains(shard.standby)) {
+                            shard.standbyState = ScanShard.Standby.READY;
+                            app.logMessage("🔥 Standby tab ready for shard " + shard.name);
+                        } else if (System.currentTimeMillis() - shard.standbySinceMs > STANDBY_LOAD_TIMEOUT_MS) {
+                            shard.standbyState = ScanShard.Standby.REBUILD;
+                        }
+                        break;
+                    case READY:
+                        if (crashedTabs.contains(shard.standby)) {
+                            shard.standbyState = ScanShard.Standby.REBUILD;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } catch (Exception e) {
+                app.logMessage("⚠️ Standby rebuild for shard " + shard.name + " failed: " + e.getMessage());
+                shard.standbyState = ScanShard.Standby.REBUILD;
+            }
+        }
+    }
+    
+    // Refreshes and scans one shard tab; returns the number of new orders
+    private int scanShard(ScanShard shard, boolean deepCycle) throws Exception {
+        Page target = shard.page;
+        
+        // A crashed tab is replaced by its standby before anything else
+        if (crashedTabs.contains(target) && failOver(shard, "crashed")) {
+            target = shard.page;
+        }
+        
+        // Check if we're still on the right page
+        String currentUrl = target.url();
+        if (!currentUrl.contains("/order/search") && !currentUrl.contains("/orders")) {
+            if (failOver(shard, "left the search (" + currentUrl + ")")) {
+                target = shard.page;
+            } else {
+                // Navigate back to search page instantly
+                target.navigate(shard.searchUrl);
+                Thread.sleep(config.reloadWaitMs); // Quick wait for page load
+                return 0;
+            }
+        }
+        
+        long shardStart = System.nanoTime();
+        if (watchdog != null) {
+            watchdog.scanStarted(shard.name);
+        }
+        
+        // New orders land at the top - only scroll deeper on deep cycles
+        int newOrders;
+        boolean stalled = false;
+        try {
+            // ULTRA-FAST: Trigger filters and collect orders instantly
+            triggerAJAXFilterApplication(target);
+            
+            if (deepCycle) {
+                newOrders = scanResultPages(target, "deep", Math.max(config.scanList, config.fullScanDepthLimit));
+            } else {
+                newOrders = scanResultPages(target, "shallow", config.scanList);
+            }
+        } catch (Exception e) {
+            if (watchdog != null && failOver(shard, "failed (" + e.getMessage() + ")")) {
+                return 0;
+            }
+            throw e;
+        } finally {
+            if (watchdog != null) {
+                watchdog.scanFinished();
+                // Taken on every exit - a flag left set would hide other shards' stalls
+                stalled = watchdog.takeStall(shard.name);
+            }
+        }
+        if (stalled) {
+            failOver(shard, "stalled");
+        }
+        if (shards.size() > 1) {
+            stats.add("shard." + shard.name + ".new", newOrders);
+            stats.recordLatency("shard." + shard.name, (System.nanoTime() - shardStart) / 1_000_000);
+        }
+        return newOrders;
+    }
+    
+    // REMOVED: Complex order analysis methods - not needed for detection-only mode
+    
+    // SIMPLIFIED AJAX FILTER EXPLOITATION METHOD
+    
+    // With several shards, every tab's apply is clicked before any tab is
+    // scraped, so the refresh round trips (or fixed settles) overlap instead
+    // of adding up per shard; scanShard then only waits out what is left.
+    // Playwright is single-threaded, but the browser runs the tabs' requests
+    // in parallel. A tab this skips is refreshed the usual way by scanShard.
+    private void sendShardRefreshes() {
+        sentRefreshes.clear();
+        if (shards.size() < 2) {
+            return;
+        }
+        for (ScanShard shard : shards) {
+            Page target = shard.page;
+            if (target.isClosed() || crashedTabs.contains(target)
+                    || (config.filterResponseTimeoutMs > 0 && refreshesInFlight.containsKey(target))) {
+                continue;
+            }
+            try {
+                Locator apply = target.locator(config.filterApplySelector);
+                if (apply.count() == 0) {
+                    continue;
+                }
+                if (config.filterResponseTimeoutMs > 0) {
+                    watchRefreshes(target);
+                    refreshesInFlight.put(target, System.currentTimeMillis());
+                }
+                apply.first().click();
+                sentRefreshes.put(target, System.nanoTime());
+            } catch (Exception e) {
+                refreshesInFlight.remove(target);
+            }
+        }
+    }
+    
+    // Clicks apply and waits for the search response it triggers, then for the
+    // re-render (capped at filter.settleMs) - a slow response isn't scraped
+    // stale and a fast one isn't padded. Single flight per tab: after a
+    // timeout the click isn't repeated until that response lands (or fails),
+    // so overlapping searches never pile up; the scan reads the current DOM.
+    private void triggerAJAXFilterApplication(Page target) {
+        JfrEvents.FilterClick clickEvent = new JfrEvents.FilterClick();
+        clickEvent.begin();
+        try {
+            Long sentNanos = sentRefreshes.remove(target);
+            if (sentNanos != null) {
+                awaitSentRefresh(target, sentNanos, clickEvent);
+                return;
+            }
+            if (config.filterResponseTimeoutMs > 0 && refreshStillInFlight(target)) {
+                clickEvent.coalesced = true;
+                stats.increment("filter.coalesced");
+                return;
+            }
+            Locator apply = target.locator(config.filterApplySelector);
+            if (apply.count() == 0) {
+                return;
+            }
+            if (config.filterResponseTimeoutMs == 0) {
+                apply.first().click();
+                clickEvent.clicked = true;
+                Thread.sleep(config.filterSettleMs); // Only 50ms wait for AJAX by default
+                return;
+            }
+            watchRefreshes(target);
+            long clickStart = System.nanoTime();
+            refreshesInFlight.put(target, System.currentTimeMillis());
+            try {
+                target.waitForResponse(this::isFilterResponse,
+                    new Page.WaitForResponseOptions().setTimeout(config.filterResponseTimeoutMs),
+                    () -> apply.first().click());
+            } catch (TimeoutError e) {
+                // Still marked in flight - the next cycle won't click over it
+                clickEvent.clicked = true;
+                stats.increment("filter.timeouts");
+                return;
+            }
+            refreshesInFlight.remove(target);
+            clickEvent.clicked = true;
+            clickEvent.responseMs = (System.nanoTime() - clickStart) / 1_000_000;
+            stats.recordLatency("filter.rtt", clickEvent.responseMs);
+            target.evaluate(RENDER_SETTLE_SCRIPT, config.filterSettleMs);
+        } catch (Exception e) {
+            // Continue regardless of filter errors - the scan still reads the current DOM
+            refreshesInFlight.remove(target);
+        } finally {
+            clickEvent.commit();
+        }
+    }
+    
+    // The rest of the wait for a refresh sendShardRefreshes already clicked
+    private void awaitSentRefresh(Page target, long sentNanos, JfrEvents.FilterClick clickEvent) throws Exception {
+        clickEvent.clicked = true;
+        long elapsedMs = (System.nanoTime() - sentNanos) / 1_000_000;
+        if (config.filterResponseTimeoutMs == 0) {
+            if (elapsedMs < config.filterSettleMs) {
+                Thread.sleep(config.filterSettleMs - elapsedMs);
+            }
+            return;
+        }
+        if (refreshesInFlight.containsKey(target)) {
+            try {
+                // Dispatches the tab's events until the listener clears its mark
+                target.waitForCondition(() -> !refreshesInFlight.containsKey(target),
+                    new Page.WaitForConditionOptions().setTimeout(Math.max(1, config.filterResponseTimeoutMs - elapsedMs)));
+            } catch (TimeoutError e) {
+                // Still marked in flight - the next cycle won't click over it
+                stats.increment("filter.timeouts");
+                return;
+            }
+        }
+        clickEvent.responseMs = (System.nanoTime() - sentNanos) / 1_000_000;
+        stats.recordLatency("filter.rtt", clickEvent.responseMs);
+        target.evaluate(RENDER_SETTLE_SCRIPT, config.filterSettleMs);
+    }
+    
+    private boolean isFilterResponse(Response response) {
+        return isFilterRequest(response.request());
+    }
+    
+    // The search request itself - endpoint, method and query/body - not just
+    // any XHR the page sends under a similar path
+    private boolean isFilterRequest(Request request) {
+        BotConfig current = config;
+        if (current.filterResponsePattern == null) {
+            return false; // Await switched off since the listener was added
+        }
+        String type = request.resourceType();
+        if (!type.equals("xhr") && !type.equals("fetch")) {
+            return false;
+        }
+        String url = request.url();
+        if (!request.method().equals(current.filterRequestMethod) || !current.filterResponsePattern.matcher(url).find()) {
+            return false;
+        }
+        if (current.filterRequestPattern == null) {
+            return true;
+        }
+        int query = url.indexOf('?');
+        String body = request.postData();
+        String params = (query < 0 ? "" : url.substring(query + 1)) + (body == null ? "" : "\n" + body);
+        return current.filterRequestPattern.matcher(params).find();
+    }
+    
+    // A refresh that timed out is given up on after a few more timeouts'
+    // worth of waiting, in case its response event never comes
+    private boolean refreshStillInFlight(Page target) {
+        Long since = refreshesInFlight.get(target);
+        if (since == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - since > 4L * config.filterResponseTimeoutMs) {
+            refreshesInFlight.remove(target);
+            stats.increment("filter.lost");
+            return false;
+        }
+        return true;
+    }
+    
+    // Late responses clear the tab's in-flight mark; events are delivered
+    // during the tab's next Playwright call, on the monitor thread
+    private void watchRefreshes(Page target) {
+        if (!refreshWatchedTabs.add(target)) {
+            return;
+        }
+        target.onResponse(response -> {
+            if (isFilterResponse(response)) {
+                refreshesInFlight.remove(target);
+            }
+        });
+        target.onRequestFailed(request -> {
+            if (isFilterRequest(request)) {
+                refreshesInFlight.remove(target);
+            }
+        });
+    }
+    
+    // Resolves after the next frame has rendered, or after `cap` ms in a tab
+    // whose frames are throttled
+    private static final String RENDER_SETTLE_SCRIPT =
+        "(cap) => new Promise(resolve => {\n"
+        + "  requestAnimationFrame(() => setTimeout(resolve, 0));\n"
+        + "  setTimeout(resolve, cap);\n"
+        + "})";
+    
+    // TIERED SCAN - reads the first `pages` result pages. Page one is whatever
+    // the filter refresh rendered; each further page is one scroll to the
+    // bottom, and only the containers it added are processed. The filter
+    // click re-renders the list, so a deep scan doesn't leave later shallow
+    // cycles querying a grown DOM.
+    private int scanResultPages(Page target, String tier, int pages) {
+        long scanStart = System.nanoTime();
+        stats.increment("scan." + tier + ".cycles");
+        int scanned = 0;
+        int newOrders = 0;
+        int pagesRead = 0;
+        try {
+            while (pagesRead < pages) {
+                if (pagesRead > 0 && !scrollToNextPage(target)) {
+                    break;
+                }
+                int[] result = collectOrdersFromCurrentDOM(target, tier, scanned);
+                pagesRead++;
+                if (result[0] <= scanned && pagesRead > 1) {
+                    break; // Scroll loaded nothing new - end of the list
+                }
+                scanned = Math.max(scanned, result[0]);
+                newOrders += result[1];
+            }
+            if (pagesRead > 1) {
+                target.evaluate("window.scrollTo(0, 0);");
+            }
+        } catch (Exception e) {
+            // Silent scroll errors
+        }
+        stats.add("scan." + tier + ".pages", pagesRead);
+        stats.add("scan." + tier + ".containers", scanned);
+        stats.add("scan." + tier + ".new", newOrders);
+        stats.recordLatency("scan." + tier, (System.nanoTime() - scanStart) / 1_000_000);
+        return newOrders;
+    }
+    
+    private boolean scrollToNextPage(Page target) {
+        try {
+            // ULTRA-FAST scrolling - minimal delays
+            target.evaluate("window.scroll(0, document.body.scrollHeight);"); // Quick scroll
+            Thread.sleep(config.scrollSettleMs); // Only 50ms by default
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    // Processes containers from index `fromIndex` on; returns
+    // {containers on page, new orders found}
+    private int[] collectOrdersFromCurrentDOM(Page target, String tier, int fromIndex) {
+        JfrEvents.OrderExtraction extractionEvent = new JfrEvents.OrderExtraction();
+        extractionEvent.begin();
+        extractionEvent.tier = tier;
+        int orderCount = 0;
+        try {
+            app.logMessage("🔍 COLLECTING ORDERS FROM CURRENT DOM (" + tier + " scan)...");
+            
+            // One round trip reads every container from fromIndex on, instead
+            // of four locator calls per container
+            Map<?, ?> snapshot = (Map<?, ?>) target.evaluate(EXTRACT_ORDERS_SCRIPT, Arrays.asList(
+                config.orderContainerSelector, config.orderLinkSelector, config.orderCategorySelector,
+                config.orderBidsSelector, config.orderBudgetSelector, fromIndex));
+            orderCount = ((Number) snapshot.get("count")).intValue();
+            List<?> rows = (List<?>) snapshot.get("orders");
+            extractionEvent.containers = orderCount;
+            
+            app.logMessage("📋 FOUND " + orderCount + " ORDER CONTAINERS on page");
+            
+            if (orderCount > fromIndex) {
+                foundOrders += orderCount - fromIndex;
+                app.updateFoundOrders(foundOrders);
+                long seenAtMs = System.currentTimeMillis();
+                
+                // Process each order
+                for (int i = 0; i < rows.size(); i++) {
+                    try {
+                        Map<?, ?> row = (Map<?, ?>) rows.get(i);
+                        String href = (String) row.get("href");
+                        if (href != null && !href.isEmpty()) {
+                            String fullUrl = BASE_URL + href;
+                            String orderKey = extractOrderKey(fullUrl);
+                            String title = (String) row.get("title");
+                            if (title == null || title.isEmpty()) {
+                                title = "Unknown Order";
+                            }
+                            
+                            if (historyStore != null) {
+                                historyStore.record(seenAtMs, orderKey, title, (String) row.get("category"),
+                                    OrderHistoryStore.parseCount((String) row.get("bids")), (String) row.get("budget"));
+                            }
+                            
+                            if (config.domPruneSeen) {
+                                scannedHrefs.computeIfAbsent(target, p -> new HashSet<>()).add(href);
+                            }
+                            
+                            // Check if already processed
+                            if (!isNewOrder(orderKey, "poll", System.nanoTime())) {
+                                app.logMessage("⏭️ SKIPPING already processed order: " + orderKey);
+                                continue;
+                            }
+                            extractionEvent.newOrders++;
+                            
+                            app.logMessage("🔗 ORDER " + (fromIndex + i + 1) + "/" + orderCount + ": " + fullUrl);
+                            
+                            processNewOrder(orderKey, fullUrl, title, target, href);
+                        }
+                    } catch (Exception e) {
+                        app.logMessage("⚠️ ERROR processing order " + (fromIndex + i + 1) + ": " + e.getMessage());
+                        continue;
+                    }
+                }
+                
+                String modeInfo = bidPlacementEnabled ? "WITH BIDDING" : "(DETECTION ONLY)";
+                app.logMessage("✅ FINISHED PROCESSING " + (orderCount - fromIndex) + " ORDERS " + modeInfo);
+            } else if (orderCount == 0) {
+                app.logMessage("❌ NO ORDERS FOUND ON PAGE!");
+            }
+        } catch (Exception e) {
+            app.logMessage("💥 ERROR in collectOrdersFromCurrentDOM: " + e.getMessage());
+            debug(stackTraceOf(e));
+        } finally {
+            extractionEvent.commit();
+        }
+        return new int[] {orderCount, extractionEvent.newOrders};
+    }
+    
+    // Link, title and the history fields of every container from index `from`
+    // on; selectors are plain CSS (querySelector), not Playwright selectors
+    private static final String EXTRACT_ORDERS_SCRIPT =
+        "([container, link, category, bids, budget, from]) => {\n"
+        + "  const text = (root, sel) => { const el = root.querySelector(sel); return el ? el.textContent.trim() : ''; };\n"
+        + "  const all = document.querySelectorAll(container);\n"
+        + "  const orders = [];\n"
+        + "  for (let i = from; i < all.length; i++) {\n"
+        + "    const a = all[i].querySelector(link);\n"
+        + "    orders.push({ href: a ? a.getAttribute('href') : null, title: a ? a.textContent.trim() : '',\n"
+        + "      category: text(all[i], category), bids: text(all[i], bids), budget: text(all[i], budget) });\n"
+        + "  }\n"
+        + "  return { count: all.length, orders };\n"
+        + "}";
+    
+    // Counts the search tabs' DOM nodes and, when configured, removes the
+    // containers of orders already scanned (all of them are in the seen set
+    // by now) and everything past the newest dom.keepNewest. Locator counts
+    // and the extraction script then walk a DOM that stays flat over a long
+    // run. One evaluate per tab.
+    private void maintainDom() {
+        long start = System.nanoTime();
+        long nodes = 0;
+        long containers = 0;
+        int pruned = 0;
+        for (ScanShard shard : shards) {
+            Set<String> seen = scannedHrefs.getOrDefault(shard.page, Collections.emptySet());
+            try {
+                Map<?, ?> result = (Map<?, ?>) shard.page.evaluate(PRUNE_ORDERS_SCRIPT, Arrays.asList(
+                    config.orderContainerSelector, config.orderLinkSelector, new ArrayList<>(seen), config.domKeepNewest));
+                nodes += ((Number) result.get("nodes")).longValue();
+                containers += ((Number) result.get("containers")).longValue();
+                pruned += ((Number) result.get("removed")).intValue();
+            } catch (Exception e) {
+                stats.increment("dom.errors");
+            }
+        }
+        scannedHrefs.clear(); // Failover or a recycle may have swapped the tabs
+        cycleDomNodes = nodes;
+        stats.set("dom.nodes", nodes);
+        stats.set("dom.containers", containers);
+        stats.add("dom.pruned", pruned);
+        stats.recordLatency("dom.check", (System.nanoTime() - start) / 1_000_000);
+        if (pruned > 0) {
+            app.logMessage("🧹 Pruned " + pruned + " order nodes, " + containers + " left (" + nodes + " DOM nodes)");
+        }
+    }
+    
+    // Removes containers whose link is in `seen` or whose index is past
+    // `keep` (0 = no cap); returns the node count after pruning
+    private static final String PRUNE_ORDERS_SCRIPT =
+        "([container, link, seen, keep]) => {\n"
+        + "  const done = new Set(seen);\n"
+        + "  const all = document.querySelectorAll(container);\n"
+        + "  let removed = 0;\n"
+        + "  for (let i = 0; i < all.length; i++) {\n"
+        + "    const a = all[i].querySelector(link);\n"
+        + "    if ((keep > 0 && i >= keep) || (a && done.has(a.getAttribute('href')))) {\n"
+        + "      all[i].remove();\n"
+        + "      removed++;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  return { nodes: document.getElementsByTagName('*').length, containers: all.length - removed, removed };\n"
+        + "}";
+    
+    // Dedupe check shared by every order source
+    private boolean isNewOrder(String orderKey, String source, long seenAtNanos) {
+        if (detectionDeltas != null) {
+            detectionDeltas.onSighting(orderKey, source, seenAtNanos);
+        }
+        JfrEvents.Dedupe dedupeEvent = new JfrEvents.Dedupe();
+        dedupeEvent.begin();
+        long orderId = OrderKeys.toId(orderKey);
+        boolean duplicate = !processedOrders.add(orderId, System.currentTimeMillis()); // Claims the order for this source
+        // Only an instance that bids claims orders - a detection-only one
+        // would otherwise take them away from the bots that do
+        if (!duplicate && sharedClaims != null && bidPlacementEnabled) {
+            SharedOrderTable.Claim claim = sharedClaims.claim(orderId);
+            if (claim == SharedOrderTable.Claim.TAKEN) {
+                duplicate = true; // Another bot process got there first
+                stats.increment("dedupe.shared.taken");
+            } else if (claim == SharedOrderTable.Claim.FULL) {
+                stats.increment("dedupe.shared.full");
+            }
+        }
+        dedupeEvent.orderKey = orderKey;
+        dedupeEvent.duplicate = duplicate;
+        dedupeEvent.commit();
+        return !duplicate;
+    }
+    
+    // Reports a new order and queues its bid (if enabled)
+    private void processNewOrder(String orderKey, String fullUrl, String title, Page source, String href) {
+        app.notifyOrderFound(title);
+        app.logMessage("📝 Order detected: " + title);
+        cycleNewOrders++;
+        
+        // BID PLACEMENT (if enabled)
+        if (bidPlacementEnabled) {
+            if (outcomeTracker != null) {
+                outcomeTracker.onDetected(orderKey, System.currentTimeMillis());
+            }
+            bidQueue.add(new PendingBid(orderKey, fullUrl, title, source, href));
+        } else {
+            app.logMessage("ℹ️ BID PLACEMENT DISABLED - Detection only mode");
+        }
+    }
+    
+    // Drains the shared bid queue. Each container is looked up on the tab that
+    // found it (see containerFor); if it isn't rendered there the modal
+    // strategy misses and page navigation takes over.
+    private void placeQueuedBids() {
+        PendingBid bid;
+        while (running && (bid = bidQueue.poll()) != null) {
             try {
-                currentCycle++;
-                
-                // Check if we're still on the right page
-                currentUrl = page.url();
-                if (!currentUrl.contains("/order/search") && !currentUrl.contains("/orders")) {
-                    // Navigate back to search page instantly
-                    page.navigate(ORDERS_URL);
-                    Thread.sleep(1000); // Quick wait for page load
-                    continue;
+                app.logMessage("🎯 ATTEMPTING BID PLACEMENT for: " + bid.title);
+                Locator container = containerFor(bid);
+                boolean bidSuccess = attemptBidPlacement(container, bid.orderKey, bid.url, bid.title);
+                if (bidSuccess) {
+                    onBidSent(bid.orderKey, bidState().strategy, bid.title);
+                } else {
+                    app.logMessage("❌ BID PLACEMENT FAILED for: " + bid.title);
+                    scheduleBidRetry(bid.orderKey, bid.url, bid.title);
                 }
-                
-                // ULTRA-FAST: Trigger filters and collect orders instantly
-                triggerAJAXFilterApplication();
-                
-                // Quick DOM expansion
-                expandDOMThroughScrolling();
-                
-                // ULTRA-FAST timing - minimal delays for instant capture
-                Thread.sleep(100); // Only 100ms delay between cycles
-                
             } catch (Exception e) {
-                System.out.println("Error in monitoring loop: " + e.getMessage());
-                Thread.sleep(500); // Quick recovery
+                app.logMessage("⚠️ ERROR bidding on " + bid.orderKey + ": " + e.getMessage());
+                scheduleBidRetry(bid.orderKey, bid.url, bid.title);
             }
         }
     }
     
-    // REMOVED: Complex order analysis methods - not needed for detection-only mode
+    // The order's own container, never a neighbour: the exact href the scan
+    // read, else a numeric key as the link's last path segment (with or
+    // without a query). A substring match would let order 123 pick 1234.
+    private Locator containerFor(PendingBid bid) {
+        String container = config.orderContainerSelector;
+        String link = config.orderLinkSelector;
+        String selector;
+        if (bid.href != null) {
+            selector = container + ":has(" + link + "[href='" + cssString(bid.href) + "'])";
+        } else if (OrderKeys.isNumeric(bid.orderKey)) {
+            selector = container + ":has(" + link + "[href$='/" + bid.orderKey + "']), "
+                + container + ":has(" + link + "[href*='/" + bid.orderKey + "?'])";
+        } else {
+            String path = bid.url.startsWith(BASE_URL) ? bid.url.substring(BASE_URL.length()) : bid.url;
+            selector = container + ":has(" + link + "[href='" + cssString(path) + "'])";
+        }
+        return bid.source.locator(selector).first();
+    }
     
-    // SIMPLIFIED AJAX FILTER EXPLOITATION METHOD
+    // Contents of a single-quoted CSS string
+    private static String cssString(String raw) {
+        return raw.replace("\\", "\\\\").replace("'", "\\'").replace("\n", "\\a ");
+    }
     
-    private void triggerAJAXFilterApplication() {
-        try {
-            // ULTRA-FAST: Click filter button INSTANTLY - no delays
-            if (page.locator(FILTER_APPLY_SELECTOR).count() > 0) {
-                page.locator(FILTER_APPLY_SELECTOR).first().click();
-                Thread.sleep(50); // Only 50ms wait for AJAX
-                
-                // Immediately collect orders after minimal wait
-                collectOrdersFromCurrentDOM();
-            } else {
-                // If no filter button, directly collect orders
-                collectOrdersFromCurrentDOM();
+    // Feeds orders announced over the WebSocket into the same dedupe and bid
+    // path as the DOM poll
+    private int processPushedOrders() {
+        int newOrders = 0;
+        for (WebSocketOrderSource.PushedOrder pushed : pushSource.drain()) {
+            try {
+                if (!isNewOrder(pushed.orderKey, "push", pushed.receivedAtNanos)) {
+                    continue;
+                }
+                String fullUrl = BASE_URL + "/order/getoneorder/" + pushed.orderKey;
+                app.logMessage("⚡ PUSHED ORDER: " + fullUrl);
+                processNewOrder(pushed.orderKey, fullUrl, pushed.title, page, null);
+                newOrders++;
+            } catch (Exception e) {
+                app.logMessage("⚠️ ERROR processing pushed order " + pushed.orderKey + ": " + e.getMessage());
             }
-        } catch (Exception e) {
-            // Continue regardless of filter errors
-            collectOrdersFromCurrentDOM();
         }
+        return newOrders;
     }
     
-    private void expandDOMThroughScrolling() {
-        try {
-            // ULTRA-FAST scrolling - minimal delays
-            page.evaluate("window.scroll(0, document.body.scrollHeight);"); // Quick scroll
-            Thread.sleep(50); // Only 50ms
-        } catch (Exception e) {
-            // Silent scroll errors
+    // PLUGGABLE ENGINE - the built-in detection paths and bid strategies
+    // registered next to any added through addOrderSource/addBidStrategy or
+    // META-INF/services. -Dbot.sources / -Dbot.strategies="a,b" pin the
+    // order (and the set) for A/B runs; otherwise the chains reorder by
+    // measured latency and success.
+    private void buildPluginChains() {
+        List<OrderSource> sources = new ArrayList<>();
+        if (pushSource != null) {
+            // Orders pushed over the WebSocket since the last cycle
+            sources.add(new OrderSource() {
+                public String name() {
+                    return "push";
+                }
+                
+                public int poll(OrderSink sink) {
+                    return processPushedOrders();
+                }
+            });
         }
-    }
-    
-    private void collectOrdersFromCurrentDOM() {
-        try {
-            app.logMessage("🔍 COLLECTING ORDERS FROM CURRENT DOM...");
-            
-            // Simple order detection - count and process
-            Locator orderContainers = page.locator(".orderA-converted__order");
-            int orderCount = orderContainers.count();
+        for (ScanShard shard : shards) {
+            String name = shards.size() == 1 ? "poll" : "poll:" + shard.name;
+            sources.add(new OrderSource() {
+                public String name() {
+                    return name;
+                }
+                
+                public int poll(OrderSink sink) throws Exception {
+                    return scanShard(shard, deepCycle);
+                }
+            });
+        }
+        builtInSources.addAll(sources);
+        sources.addAll(extraSources);
+        ServiceLoader.load(OrderSource.class).forEach(sources::add);
+        orderSources = chainOf(sources, OrderSource::name, System.getProperty("bot.sources"), "Order sources");
+        
+        List<BidStrategy> strategies = new ArrayList<>();
+        strategies.add(new BidStrategy() {
+            public String name() {
+                return "modal";
+            }
             
-            app.logMessage("📋 FOUND " + orderCount + " ORDER CONTAINERS on page");
+            public boolean place(BidRequest request, BidDeadline deadline) {
+                return tryModalBidPlacement(request.container, request.title, deadline);
+            }
+        });
+        strategies.add(new BidStrategy() {
+            public String name() {
+                return "navigation";
+            }
             
-            if (orderCount > 0) {
-                foundOrders += orderCount;
-                app.updateFoundOrders(foundOrders);
-                
-                // Process each order
-                for (int i = 0; i < orderCount; i++) {
-                    try {
-                        Locator container = orderContainers.nth(i);
-                        
-                        // Extract order URL and basic info
-                        Locator linkElement = container.locator(".orderA-converted__name");
-                        if (linkElement.count() > 0) {
-                            String href = linkElement.getAttribute("href");
-                            if (href != null && !href.isEmpty()) {
-                                String fullUrl = BASE_URL + href;
-                                String orderKey = extractOrderKey(fullUrl);
-                                
-                                // Check if already processed
-                                if (processedOrders.contains(orderKey)) {
-                                    app.logMessage("⏭️ SKIPPING already processed order: " + orderKey);
-                                    continue;
-                                }
-                                
-                                app.logMessage("🔗 ORDER " + (i + 1) + "/" + orderCount + ": " + fullUrl);
-                                
-                                // Extract title for display
-                                String title = "Unknown Order";
-                                if (linkElement.count() > 0) {
-                                    title = linkElement.textContent().trim();
-                                }
-                                
-                                app.notifyOrderFound(title);
-                                app.logMessage("📝 Order detected: " + title);
-                                
-                                // Add to processed set
-                                processedOrders.add(orderKey);
-                                
-                                // BID PLACEMENT (if enabled)
-                                if (bidPlacementEnabled) {
-                                    app.logMessage("🎯 ATTEMPTING BID PLACEMENT for: " + title);
-                                    boolean bidSuccess = attemptBidPlacement(container, fullUrl, title);
-                                    if (bidSuccess) {
-                                        successfulBids++;
-                                        app.updateSuccessfulBids(successfulBids);
-                                        app.logMessage("✅ BID PLACED SUCCESSFULLY for: " + title);
-                                    } else {
-                                        app.logMessage("❌ BID PLACEMENT FAILED for: " + title);
-                                    }
-                                } else {
-                                    app.logMessage("ℹ️ BID PLACEMENT DISABLED - Detection only mode");
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        app.logMessage("⚠️ ERROR processing order " + (i + 1) + ": " + e.getMessage());
-                        continue;
+            public boolean place(BidRequest request, BidDeadline deadline) {
+                return tryPageNavigationBid(request.page, request.orderUrl, request.title, deadline, true);
+            }
+        });
+        strategies.addAll(extraStrategies);
+        ServiceLoader.load(BidStrategy.class).forEach(strategies::add);
+        bidStrategies = chainOf(strategies, BidStrategy::name, System.getProperty("bot.strategies"), "Bid strategies");
+    }
+    
+    // Every plugin in registration order, or exactly the comma-separated
+    // names in `pinned`, in that order
+    private <T> AdaptiveChain<T> chainOf(List<T> plugins, Function<T, String> nameOf, String pinned, String kind) {
+        AdaptiveChain<T> chain = new AdaptiveChain<>(pinned != null);
+        if (pinned == null) {
+            for (T plugin : plugins) {
+                chain.add(nameOf.apply(plugin), plugin);
+            }
+        } else {
+            for (String name : pinned.split(",")) {
+                T match = null;
+                for (T plugin : plugins) {
+                    if (nameOf.apply(plugin).equals(name.trim())) {
+                        match = plugin;
                     }
                 }
-                
-                String modeInfo = bidPlacementEnabled ? "WITH BIDDING" : "(DETECTION ONLY)";
-                app.logMessage("✅ FINISHED PROCESSING " + orderCount + " ORDERS " + modeInfo);
-            } else {
-                app.logMessage("❌ NO ORDERS FOUND ON PAGE!");
+                if (match == null) {
+                    app.logMessage("⚠️ " + kind + ": no plugin named '" + name.trim() + "'");
+                } else {
+                    chain.add(name.trim(), match);
+                }
             }
+        }
+        app.logMessage("🧩 " + kind + ": " + chain.describe() + (pinned != null ? " (pinned)" : ""));
+        return chain;
+    }
+    
+    // Runs one source; a failing source is counted and skipped for this cycle
+    private void runOrderSource(OrderSource source) throws Exception {
+        String name = source.name();
+        long start = System.nanoTime();
+        int newOrders = 0;
+        boolean ok = true;
+        try {
+            newOrders = source.poll((orderKey, orderUrl, title) -> {
+                if (!isNewOrder(orderKey, name, System.nanoTime())) {
+                    return false;
+                }
+                processNewOrder(orderKey, orderUrl, title, page, null);
+                return true;
+            });
         } catch (Exception e) {
-            app.logMessage("💥 ERROR in collectOrdersFromCurrentDOM: " + e.getMessage());
-            e.printStackTrace();
+            ok = false;
+            stats.increment("source." + name + ".errors");
+            if (builtInSources.contains(source)) {
+                throw e; // Search tab trouble: the monitor loop counts it and backs off, as before
+            }
+            app.logMessage("⚠️ Order source " + name + " failed: " + e.getMessage());
+        } finally {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            stats.recordLatency("source." + name, elapsedMs);
+            stats.add("source." + name + ".new", newOrders);
+            orderSources.record(name, elapsedMs, ok && newOrders > 0);
         }
     }
     
+    // Extra engines - register before start()
+    public void addOrderSource(OrderSource source) {
+        extraSources.add(source);
+    }
+    
+    public void addBidStrategy(BidStrategy strategy) {
+        extraStrategies.add(strategy);
+    }
+    
     // REMOVED: Complex order details extraction - only basic detection needed
     
     // ========== BID PLACEMENT SYSTEM ==========
     
+    private BidState bidState() {
+        return bidStates.get();
+    }
+    
     private String extractOrderKey(String url) {
-        // Extract unique order identifier from URL
-        if (url.contains("/order/")) {
-            String[] parts = url.split("/order/");
-            if (parts.length > 1) {
-                return parts[1].split("[/?]")[0]; // Get order ID before any query params
-            }
+        // Extract unique order identifier from URL (numeric id, no regex)
+        return OrderKeys.extractKey(url);
+    }
+    
+    private boolean attemptBidPlacement(Locator container, String orderKey, String orderUrl, String title) {
+        if (traceRecorder != null) {
+            traceRecorder.rotateIfStale();
+        }
+        long bidStart = System.nanoTime();
+        if (rpcMeter != null) {
+            rpcMeter.beginBid();
         }
-        return url; // Fallback to full URL
+        bidState().unconfirmed = false;
+        boolean success = runBidStrategies(container, orderKey, orderUrl, title);
+        captureBidTrace(orderKey, success, bidStart);
+        finishBidRpc(orderKey);
+        return success;
     }
     
-    private boolean attemptBidPlacement(Locator container, String orderUrl, String title) {
-        app.logMessage("🎯 Starting bid placement for: " + title);
-        
-        // Strategy 1: Modal-based bidding (fastest)
-        if (tryModalBidPlacement(container, title)) {
-            app.logMessage("✅ SUCCESS: Modal bid placement for " + title);
-            return true;
+    // Pages go through the RPC meter when it is on; Locators made from them follow
+    private Page metered(Page target) {
+        return rpcMeter == null ? target : rpcMeter.wrap(target);
+    }
+    
+    // Logs how many driver round trips the bid took and where they went
+    private void finishBidRpc(String orderKey) {
+        if (rpcMeter == null) {
+            return;
+        }
+        RpcMeter.Tally tally = rpcMeter.endBid();
+        app.logMessage("🔌 Bid on " + orderKey + ": " + tally.calls() + " driver calls, " + tally.millis()
+            + "ms (" + tally.top(3) + ")");
+    }
+    
+    // Saves the rolling trace window when a bid failed or went over budget
+    private void captureBidTrace(String orderKey, boolean success, long bidStart) {
+        if (traceRecorder == null) {
+            return;
         }
+        Path trace = traceRecorder.onBidFinished(orderKey, success, (System.nanoTime() - bidStart) / 1_000_000);
+        if (trace != null) {
+            app.logMessage("🎞️ Bid trace saved to " + trace);
+        }
+    }
+    
+    private boolean runBidStrategies(Locator container, String orderKey, String orderUrl, String title) {
+        app.logMessage("🎯 Starting bid placement for: " + title);
+        bidState().failure = null;
+        bidState().orderKey = orderKey;
+        BidDeadline deadline = new BidDeadline(config.bidTimeoutMs, stats);
+        long bidStart = System.nanoTime();
+        JfrEvents.BidStrategy bidEvent = beginStrategyEvent("all");
+        BidStrategy.BidRequest request = new BidStrategy.BidRequest(orderKey, orderUrl, title, container, container.page());
         
-        // Strategy 2: Page navigation fallback
-        app.logMessage("➡️ Modal failed, trying page navigation for: " + title);
-        if (tryPageNavigationBid(orderUrl, title)) {
-            app.logMessage("✅ SUCCESS: Page navigation bid placement for " + title);
-            return true;
+        // Fastest working strategy first (see AdaptiveChain); each fallback
+        // only runs with budget left
+        String previous = null;
+        for (BidStrategy strategy : bidStrategies.plugins()) {
+            String name = strategy.name();
+            if (previous != null) {
+                if (deadline.isExpired()) {
+                    app.logMessage("⏱️ Bid budget spent in " + deadline.stage() + ", skipping " + name + " for: " + title);
+                    break;
+                }
+                app.logMessage("➡️ " + previous + " failed, trying " + name + " for: " + title);
+            }
+            long strategyStart = System.nanoTime();
+            JfrEvents.BidStrategy strategyEvent = beginStrategyEvent(name);
+            boolean success;
+            try {
+                success = strategy.place(request, deadline);
+            } catch (Exception e) {
+                app.logMessage("❌ " + name + " bid error: " + e.getMessage());
+                bidState().failure = classifyBidFailure(e, deadline);
+                success = false;
+            }
+            recordStrategyOutcome(strategyEvent, strategyStart, success);
+            if (bidStrategies.record(name, (System.nanoTime() - strategyStart) / 1_000_000, success)) {
+                app.logMessage("🔀 Bid strategy order now: " + bidStrategies.describe());
+            }
+            if (success) {
+                bidState().strategy = name;
+                app.logMessage("✅ SUCCESS: " + name + " bid placement for " + title);
+                recordStrategyOutcome(bidEvent, bidStart, true);
+                return true;
+            }
+            previous = name;
         }
         
+        recordStrategyOutcome(bidEvent, bidStart, false);
         app.logMessage("❌ FAILED: All bid placement strategies failed for " + title);
         return false;
     }
     
-    private boolean tryModalBidPlacement(Locator container, String title) {
+    private JfrEvents.BidStrategy beginStrategyEvent(String strategy) {
+        JfrEvents.BidStrategy event = new JfrEvents.BidStrategy();
+        event.begin();
+        event.orderKey = bidState().orderKey;
+        event.strategy = strategy;
+        return event;
+    }
+    
+    // Latency and outcome per strategy, so fallback cost shows up in stats and JFR
+    private void recordStrategyOutcome(JfrEvents.BidStrategy event, long startNanos, boolean success) {
+        stats.recordLatency("bid.strategy." + event.strategy, (System.nanoTime() - startNanos) / 1_000_000);
+        stats.increment("bid.strategy." + event.strategy + (success ? ".success" : ".failure"));
+        if (success && bidState().unconfirmed) {
+            stats.increment("bid.strategy." + event.strategy + ".unconfirmed"); // Also in .success
+        }
+        event.success = success;
+        event.failureClass = success || bidState().failure == null ? null : bidState().failure.name();
+        event.commit();
+    }
+    
+    // Runs one sub-step of a bid strategy inside a JFR BidStep event
+    private boolean bidStep(String step, BooleanSupplier action) {
+        JfrEvents.BidStep event = new JfrEvents.BidStep();
+        event.begin();
+        bidState().selector = null;
+        boolean success = false;
+        try {
+            success = action.getAsBoolean();
+            return success;
+        } finally {
+            event.orderKey = bidState().orderKey;
+            event.step = step;
+            event.selector = bidState().selector;
+            event.success = success;
+            event.commit();
+        }
+    }
+    
+    private boolean tryModalBidPlacement(Locator container, String title, BidDeadline deadline) {
+        Page page = container.page(); // The shard tab the order was found on
         try {
             app.logMessage("🔮 Attempting modal bid for: " + title);
             
             // Look for bid button in the container using the working bot's approach
-            String[] bidButtonSelectors = {
-                "#showBidForm",  // This is the key selector from the working bot
-                "button[data-testid*='MakeBid']",
-                "button.styled__MakeBidButton-sc-18augvm-9",
-                "button:has-text('Place a Bid')",
-                "button:has-text('Bid')",
-                ".bid-button",
-                "button[class*='bid']"
-            };
-            
+            // (#showBidForm first - the key selector from the working bot)
             Locator bidButton = null;
-            for (String selector : bidButtonSelectors) {
+            for (String selector : config.bidButtonSelectors) {
+                deadline.timeoutFor("bid-button");
                 try {
-                    if (selector.equals("#showBidForm")) {
-                        // Use page-level selector for showBidForm
+                    if (selector.startsWith("#")) {
+                        // Use page-level selector for ids like showBidForm
                         bidButton = page.locator(selector).first();
                     } else {
                         bidButton = container.locator(selector).first();
                     }
                     if (bidButton.count() > 0) {
                         app.logMessage("🔘 Found bid button with selector: " + selector);
+                        bidState().selector = selector;
                         break;
                     }
                 } catch (Exception e) {
@@ -484,31 +1803,28 @@ public class BidderBot {
             
             if (bidButton == null || bidButton.count() == 0) {
                 app.logMessage("❌ No bid button found in container");
+                bidState().failure = FailureClass.SELECTOR_MISS;
                 return false;
             }
             
             // Click the bid button and wait for modal
             app.logMessage("💆 Clicking bid button");
-            bidButton.click();
+            bidButton.click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("bid-button")));
             
             // Wait for modal to appear using the working bot's approach
             app.logMessage("⏳ Waiting for modal to appear");
-            waitForModal();
-            
-            // Fill bid amount using working bot's approach
-            if (!fillBidAmount()) {
-                app.logMessage("❌ Failed to fill bid amount");
+            if (!bidStep("modal", () -> waitForModal(page, deadline))) {
                 return false;
             }
             
-            // Fill message using working bot's approach  
-            if (!fillBidMessage()) {
-                app.logMessage("❌ Failed to fill bid message");
+            // Fill amount and message in one round trip
+            if (!bidStep("form", () -> fillBidForm(page, deadline))) {
+                app.logMessage("❌ Failed to fill bid form");
                 return false;
             }
             
             // Submit the bid using working bot's approach
-            if (!submitBid()) {
+            if (!bidStep("submit", () -> submitBid(page, deadline))) {
                 app.logMessage("❌ Failed to submit bid");
                 return false;
             }
@@ -518,16 +1834,23 @@ public class BidderBot {
             
         } catch (Exception e) {
             app.logMessage("❌ Modal bid placement error: " + e.getMessage());
+            bidState().failure = classifyBidFailure(e, deadline);
             return false;
         }
     }
     
-    private boolean tryPageNavigationBid(String orderUrl, String title) {
+    // Navigates the given tab to the order page and bids there. A search tab
+    // (returnAfterwards) is sent back to its original URL afterwards.
+    private boolean tryPageNavigationBid(Page target, String orderUrl, String title, BidDeadline deadline,
+                                         boolean returnAfterwards) {
         try {
             app.logMessage("🔍 Navigating to order page: " + orderUrl);
             
             // Save current page URL
-            String originalUrl = page.url();
+            String originalUrl = target.url();
+            if (returnAfterwards) {
+                sentRefreshes.remove(target); // Its refresh is gone with the navigation
+            }
             
             // Navigate to order page using working bot's approach
             String fullOrderUrl = orderUrl;
@@ -537,52 +1860,125 @@ public class BidderBot {
                 fullOrderUrl = BASE_URL + "/order/getoneorder/" + orderID;
             }
             
-            page.navigate(fullOrderUrl);
-            Thread.sleep(1500); // Wait for page load
+            // DOM ready is enough - the button wait below covers the rest
+            target.navigate(fullOrderUrl, new Page.NavigateOptions()
+                .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                .setTimeout(deadline.timeoutFor("navigation")));
             
             app.logMessage("🔘 Looking for showBidForm button on order page");
             
+            boolean success = false;
             // Look for showBidForm button like working bot does
             try {
-                Locator showBidFormButton = page.locator("#showBidForm").first();
-                if (showBidFormButton.count() > 0) {
-                    app.logMessage("💆 Clicking showBidForm button");
-                    showBidFormButton.click();
-                    
-                    // Wait for modal and fill form
-                    waitForModal();
-                    
-                    if (fillBidAmount() && fillBidMessage() && submitBid()) {
-                        app.logMessage("✅ Page navigation bid successful");
-                        
-                        // Navigate back to search page
-                        page.navigate(originalUrl);
-                        Thread.sleep(1000);
-                        return true;
-                    }
+                Locator showBidFormButton = target.locator("#showBidForm").first();
+                showBidFormButton.waitFor(new Locator.WaitForOptions().setTimeout(deadline.timeoutFor("bid-button")));
+                app.logMessage("💆 Clicking showBidForm button");
+                showBidFormButton.click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("bid-button")));
+                
+                // Wait for modal and fill form
+                if (bidStep("modal", () -> waitForModal(target, deadline))
+                        && bidStep("form", () -> fillBidForm(target, deadline))
+                        && bidStep("submit", () -> submitBid(target, deadline))) {
+                    app.logMessage("✅ Page navigation bid successful");
+                    success = true;
                 }
             } catch (Exception e) {
                 app.logMessage("❌ Error in page navigation bid: " + e.getMessage());
+                bidState().failure = classifyBidFailure(e, deadline);
             }
             
             // Navigate back to search page
-            page.navigate(originalUrl);
-            Thread.sleep(1000);
+            if (returnAfterwards) {
+                target.navigate(originalUrl);
+                Thread.sleep(config.returnWaitMs);
+            }
             
-            return false;
+            return success;
             
         } catch (Exception e) {
             app.logMessage("❌ Page navigation bid error: " + e.getMessage());
+            bidState().failure = deadline.isExpired() ? classifyBidFailure(e, deadline) : FailureClass.NAVIGATION_ERROR;
             // Try to navigate back to search page
-            try {
-                page.navigate(ORDERS_URL);
-            } catch (Exception navError) {
-                // Ignore navigation error
+            if (returnAfterwards) {
+                try {
+                    target.navigate(ORDERS_URL);
+                } catch (Exception navError) {
+                    // Ignore navigation error
+                }
             }
             return false;
         }
     }
     
+    // Maps a failed bid step to its retry class, counting budget exhaustion
+    // against the stage that was running when time ran out
+    private FailureClass classifyBidFailure(Exception e, BidDeadline deadline) {
+        if (e instanceof BidDeadline.BudgetExhaustedException || deadline.isExpired()) {
+            deadline.exhausted();
+            app.logMessage("⏱️ Bid budget exhausted during " + deadline.stage());
+            return deadline.failureClass();
+        }
+        return e instanceof TimeoutError ? FailureClass.MODAL_TIMEOUT : FailureClass.SELECTOR_MISS;
+    }
+    
+    // ========== BID RETRY PIPELINE ==========
+    
+    private void scheduleBidRetry(String orderKey, String orderUrl, String title) {
+        FailureClass failure = bidState().failure != null ? bidState().failure : FailureClass.SELECTOR_MISS;
+        if (retryScheduler.scheduleRetry(orderKey, orderUrl, title, failure)) {
+            app.logMessage("🔁 Retry scheduled (" + failure + ") for: " + title
+                + " - attempts left: " + retryScheduler.remainingBudgets().get(orderKey));
+        } else {
+            app.logMessage("🛑 Retry budget exhausted (" + failure + ") for: " + title);
+        }
+        app.updateRetryStats(retryScheduler.pendingCount());
+    }
+    
+    // Runs one due retry on the retry worker's thread and tab. The RPC meter
+    // and trace recorder watch the monitor's connection, so retries skip them.
+    private void runRetry(Page retryPage, BidRetryScheduler.RetryEntry retry) {
+        app.logMessage("🔁 RETRYING BID (attempt " + (retry.attempts + 1) + ", last failure "
+            + retry.lastFailure + ") for: " + retry.title);
+        bidState().failure = null;
+        bidState().unconfirmed = false;
+        bidState().orderKey = retry.orderKey;
+        BidDeadline deadline = new BidDeadline(config.bidTimeoutMs, stats);
+        long strategyStart = System.nanoTime();
+        JfrEvents.BidStrategy strategyEvent = beginStrategyEvent("retry");
+        boolean success = tryPageNavigationBid(retryPage, retry.orderUrl, retry.title, deadline, false);
+        recordStrategyOutcome(strategyEvent, strategyStart, success);
+        if (success) {
+            retryScheduler.markSucceeded(retry.orderKey);
+            app.updateRetryStats(retryScheduler.pendingCount());
+            onBidSent(retry.orderKey, "retry", retry.title);
+        } else {
+            scheduleBidRetry(retry.orderKey, retry.orderUrl, retry.title);
+        }
+    }
+    
+    private void onRetryTabFailed(BidRetryScheduler.RetryEntry retry, Exception e) {
+        app.logMessage("❌ Could not open retry tab: " + e.getMessage());
+        bidState().failure = FailureClass.NAVIGATION_ERROR;
+        scheduleBidRetry(retry.orderKey, retry.orderUrl, retry.title);
+    }
+    
+    public BotStats getStats() {
+        return stats;
+    }
+    
+    // Counters plus the remaining retry budget of every order still queued
+    public Map<String, Long> getStatsSnapshot() {
+        Map<String, Long> snapshot = stats.snapshot();
+        AsyncEventLog log = eventLog;
+        if (log != null) {
+            snapshot.putAll(log.counters());
+        }
+        for (Map.Entry<String, Integer> budget : retryScheduler.remainingBudgets().entrySet()) {
+            snapshot.put("retry.budget." + budget.getKey(), (long) budget.getValue());
+        }
+        return snapshot;
+    }
+    
     private String generateSimpleBidMessage(String title) {
         // Generate a simple, effective bid message
         String[] templates = {
@@ -607,53 +2003,194 @@ public class BidderBot {
         return bidPlacementEnabled;
     }
     
+    // Applies config overrides to the running bot (picked up next cycle);
+    // returns the changed keys. Bad keys or values throw and change nothing.
+    // Overrides are kept as a layer on top of the config file, so a later
+    // file reload doesn't undo them.
+    public synchronized List<String> updateConfig(Map<String, String> overrides) {
+        BotConfig next = latestConfig.with(overrides);
+        List<String> changes = next.changesFrom(latestConfig);
+        latestConfig = next;
+        apiOverrides.putAll(overrides);
+        for (String change : changes) {
+            app.logMessage("🔧 Config change: " + change);
+        }
+        return changes;
+    }
+    
+    // A reloaded config file (defaults + file) with the API overrides on top
+    private synchronized void applyFileConfig(BotConfig fromFile) {
+        latestConfig = fromFile.with(apiOverrides);
+        if (!apiOverrides.isEmpty()) {
+            app.logMessage("🔧 Control API overrides still applied: " + apiOverrides.keySet());
+        }
+    }
+    
+    public Map<String, String> getConfig() {
+        return latestConfig.values();
+    }
+    
+    // ========== HAR HARNESS CONFIGURATION (set before start) ==========
+    
+    public void recordHar(Path harPath) {
+        this.harRecordPath = harPath;
+    }
+    
+    public void replayHar(Path harPath) {
+        this.harReplayPath = harPath;
+    }
+    
+    public void setCycleLimit(int cycles) {
+        this.cycleLimit = cycles;
+    }
+    
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+    
+    public void injectFaults(FaultProfile profile) {
+        this.faultProfile = profile;
+    }
+    
+    public int getCycleCount() {
+        return currentCycle;
+    }
+    
+    public int getUniqueOrderCount() {
+        return processedOrders.size();
+    }
+    
+    public int getFoundOrders() {
+        return foundOrders;
+    }
+    
+    // Driver round trips for the whole run, or null without -Dbot.rpc
+    public RpcMeter.Tally getRpcTotal() {
+        return rpcMeter == null ? null : rpcMeter.total();
+    }
+    
     // ========== WORKING BOT INSPIRED HELPER METHODS ==========
     
-    private void waitForModal() {
+    private boolean waitForModal(Page target, BidDeadline deadline) {
         int attempts = 0;
         while (attempts < 10) {
+            // Each wait is capped at 1s but never runs past the bid deadline
+            double waitTimeout = Math.min(1000, deadline.timeoutFor("modal"));
             try {
                 app.logMessage("🕰️ Waiting for modal... attempt " + (attempts + 1));
                 // Wait for modal content using working bot's approach
-                page.locator("div.ui-modal-content").first().waitFor(new Locator.WaitForOptions().setTimeout(1000));
+                target.locator(config.modalSelector).first().waitFor(new Locator.WaitForOptions().setTimeout(waitTimeout));
                 app.logMessage("✅ Modal appeared");
-                return;
+                bidState().selector = config.modalSelector;
+                return true;
             } catch (Exception e) {
                 attempts++;
                 if (attempts < 10) {
                     try {
                         // Retry clicking showBidForm if modal doesn't appear
-                        page.locator("#showBidForm").first().click();
+                        target.locator("#showBidForm").first().click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("modal")));
                     } catch (Exception retryError) {
                         // Ignore retry errors
                     }
                 } else {
                     app.logMessage("❌ Modal did not appear after 10 attempts");
-                    return;
+                    bidState().failure = FailureClass.MODAL_TIMEOUT;
+                    return false;
                 }
             }
         }
+        return false;
+    }
+    
+    // Fills amount and message with a single evaluate inside the open modal.
+    // Values go through the native value setters and are followed by input and
+    // change events, so framework-bound fields register them the way they do
+    // typed text. Falls back to the step-by-step fill when the message field
+    // isn't matched by a plain CSS selector.
+    private boolean fillBidForm(Page target, BidDeadline deadline) {
+        try {
+            deadline.timeoutFor("form");
+            Object result = target.evaluate(FILL_FORM_SCRIPT, Arrays.asList(config.modalSelector,
+                config.amountSelectors, config.messageSelectors, config.submitSelectors,
+                BID_AMOUNT, generateSimpleBidMessage("order")));
+            Map<?, ?> filled = result instanceof Map ? (Map<?, ?>) result : null;
+            if (filled == null || filled.get("message") == null) {
+                app.logMessage("⚠️ One-call form fill found no message field, filling step by step");
+                stats.increment("bid.formFill.fallback");
+                return fillBidAmount(target, deadline) && fillBidMessage(target, deadline);
+            }
+            bidState().selector = (String) filled.get("message");
+            boolean submitEnabled = Boolean.TRUE.equals(filled.get("submitEnabled"));
+            if (!submitEnabled) {
+                stats.increment("bid.formFill.submitDisabled"); // submitBid still tries to enable it
+            }
+            app.logMessage("✏️ Bid form filled (amount " + (filled.get("amount") != null ? BID_AMOUNT : "not found")
+                + ", submit " + (submitEnabled ? "enabled" : "still disabled") + ")");
+            return true;
+        } catch (Exception e) {
+            app.logMessage("❌ Error filling bid form: " + e.getMessage());
+            bidState().failure = classifyBidFailure(e, deadline);
+            return false;
+        }
     }
     
-    private boolean fillBidAmount() {
+    static final String BID_AMOUNT = "5";
+    
+    // Sets amount and message inside the modal and reports whether the submit
+    // button is enabled afterwards. Selectors that aren't plain CSS (e.g.
+    // :has-text) are skipped. Values go through the element type's native
+    // setter so framework-controlled fields see them; a setter called on
+    // another element type throws "Illegal invocation". The trailing
+    // setTimeout lets the page's framework re-render the button before it is read.
+    static final String FILL_FORM_SCRIPT =
+        "async ([modal, amountSelectors, messageSelectors, submitSelectors, amount, message]) => {\n"
+        + "  const root = document.querySelector(modal);\n"
+        + "  if (!root) return null;\n"
+        + "  const find = (selectors) => {\n"
+        + "    for (const sel of selectors) {\n"
+        + "      try { const el = root.querySelector(sel); if (el) return [sel, el]; } catch (e) { /* not CSS */ }\n"
+        + "    }\n"
+        + "    return [null, null];\n"
+        + "  };\n"
+        + "  const set = (el, value) => {\n"
+        + "    el.focus();\n"
+        + "    if (el.isContentEditable) {\n"
+        + "      el.textContent = value;\n"
+        + "    } else {\n"
+        + "      const proto = el instanceof HTMLInputElement ? HTMLInputElement.prototype\n"
+        + "        : el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype\n"
+        + "        : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : null;\n"
+        + "      if (proto) Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);\n"
+        + "      else el.value = value;\n"
+        + "    }\n"
+        + "    el.dispatchEvent(new Event('input', { bubbles: true }));\n"
+        + "    el.dispatchEvent(new Event('change', { bubbles: true }));\n"
+        + "    el.dispatchEvent(new KeyboardEvent('keyup', { bubbles: true, key: ' ' }));\n"
+        + "    el.blur();\n"
+        + "  };\n"
+        + "  const [amountSel, amountEl] = find(amountSelectors);\n"
+        + "  if (amountEl) set(amountEl, amount);\n"
+        + "  const [messageSel, messageEl] = find(messageSelectors);\n"
+        + "  if (messageEl) set(messageEl, message);\n"
+        + "  await new Promise(resolve => setTimeout(resolve, 0));\n"
+        + "  const [submitSel, submitEl] = find(submitSelectors);\n"
+        + "  return { amount: amountSel, message: messageSel, submit: submitSel,\n"
+        + "    submitEnabled: !!submitEl && !submitEl.disabled && submitEl.getAttribute('aria-disabled') !== 'true' };\n"
+        + "}";
+    
+    private boolean fillBidAmount(Page target, BidDeadline deadline) {
         try {
             app.logMessage("💰 Filling bid amount");
             
             // Look for bid amount input using working bot's selectors
-            String[] amountSelectors = {
-                "input[type='number']",
-                "input[name='bid_amount']", 
-                "input[placeholder*='amount']",
-                "input[class*='amount']",
-                ".iPnaAx"  // This selector from working bot
-            };
-            
             Locator amountInput = null;
-            for (String selector : amountSelectors) {
+            for (String selector : config.amountSelectors) {
+                deadline.timeoutFor("amount");
                 try {
-                    amountInput = page.locator(selector).first();
+                    amountInput = target.locator(selector).first();
                     if (amountInput.count() > 0) {
                         app.logMessage("💵 Found amount input: " + selector);
+                        bidState().selector = selector;
                         break;
                     }
                 } catch (Exception e) {
@@ -663,9 +2200,9 @@ public class BidderBot {
             
             if (amountInput != null && amountInput.count() > 0) {
                 // Use a simple default amount
-                String amount = "5";
-                amountInput.click();
-                amountInput.fill(amount);
+                String amount = BID_AMOUNT;
+                amountInput.click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("amount")));
+                amountInput.fill(amount, new Locator.FillOptions().setTimeout(deadline.timeoutFor("amount")));
                 app.logMessage("💰 Filled amount: " + amount);
                 return true;
             } else {
@@ -674,30 +2211,27 @@ public class BidderBot {
             }
             
         } catch (Exception e) {
+            if (deadline.isExpired()) {
+                throw deadline.exhausted(); // Out of time is not worth continuing
+            }
             app.logMessage("❌ Error filling bid amount: " + e.getMessage());
             return true; // Continue even if amount filling fails
         }
     }
     
-    private boolean fillBidMessage() {
+    private boolean fillBidMessage(Page target, BidDeadline deadline) {
         try {
             app.logMessage("✏️ Filling bid message");
             
             // Look for message textarea using working bot's approach
-            String[] textAreaSelectors = {
-                ".auctionTextarea-converted__textarea",  // Primary selector from working bot
-                "textarea[name='message']",
-                "textarea[placeholder*='bid']",
-                "textarea[placeholder*='message']",
-                "textarea"
-            };
-            
             Locator textArea = null;
-            for (String selector : textAreaSelectors) {
+            for (String selector : config.messageSelectors) {
+                deadline.timeoutFor("message");
                 try {
-                    textArea = page.locator(selector).first();
+                    textArea = target.locator(selector).first();
                     if (textArea.count() > 0) {
                         app.logMessage("✏️ Found message area: " + selector);
+                        bidState().selector = selector;
                         break;
                     }
                 } catch (Exception e) {
@@ -707,52 +2241,45 @@ public class BidderBot {
             
             if (textArea == null || textArea.count() == 0) {
                 app.logMessage("❌ No message textarea found");
+                bidState().failure = FailureClass.SELECTOR_MISS;
                 return false;
             }
             
             // Generate and fill message using working bot's approach
             String message = generateSimpleBidMessage("order");
-            textArea.click();
+            textArea.click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("message")));
             
             // Clear and fill like working bot does
-            textArea.fill(""); // Clear first
-            textArea.fill(message); // Then fill with message
+            textArea.fill("", new Locator.FillOptions().setTimeout(deadline.timeoutFor("message"))); // Clear first
+            textArea.fill(message, new Locator.FillOptions().setTimeout(deadline.timeoutFor("message"))); // Then fill with message
             
             // Trigger events like working bot
-            textArea.pressSequentially(" "); // Add space
-            textArea.press("Backspace");        // Remove space
+            textArea.pressSequentially(" ", new Locator.PressSequentiallyOptions().setTimeout(deadline.timeoutFor("message"))); // Add space
+            textArea.press("Backspace", new Locator.PressOptions().setTimeout(deadline.timeoutFor("message")));        // Remove space
             
             app.logMessage("✏️ Message filled successfully");
             return true;
             
         } catch (Exception e) {
             app.logMessage("❌ Error filling message: " + e.getMessage());
+            bidState().failure = classifyBidFailure(e, deadline);
             return false;
         }
     }
     
-    private boolean submitBid() {
+    private boolean submitBid(Page target, BidDeadline deadline) {
         try {
             app.logMessage("🚀 Looking for submit button");
             
             // Find submit button using multiple approaches
-            String[] submitSelectors = {
-                "button[type='submit']",
-                "button:has-text('Submit')",
-                "button:has-text('Send Bid')", 
-                "button:has-text('Send')",
-                "button.styled__StyledButton-sc-6klmhm-0",
-                "input[type='submit']",
-                "button[class*='submit']",
-                "button[class*='Send']"
-            };
-            
             Locator submitButton = null;
-            for (String selector : submitSelectors) {
+            for (String selector : config.submitSelectors) {
+                deadline.timeoutFor("submit");
                 try {
-                    submitButton = page.locator(selector).first();
+                    submitButton = target.locator(selector).first();
                     if (submitButton.count() > 0 && submitButton.isVisible()) {
                         app.logMessage("🚀 Found submit button: " + selector);
+                        bidState().selector = selector;
                         break;
                     }
                 } catch (Exception e) {
@@ -762,16 +2289,17 @@ public class BidderBot {
             
             if (submitButton == null || submitButton.count() == 0) {
                 app.logMessage("❌ No submit button found");
+                bidState().failure = FailureClass.SELECTOR_MISS;
                 return false;
             }
             
             // Check if button is enabled (like working bot does)
-            if (!submitButton.isEnabled()) {
+            if (!submitButton.isEnabled(new Locator.IsEnabledOptions().setTimeout(deadline.timeoutFor("submit")))) {
                 app.logMessage("⚠️ Submit button is disabled, trying to enable it");
                 // Try to enable by clicking on the form area
                 try {
-                    page.locator(".ui-modal-content").first().click();
-                    Thread.sleep(500);
+                    target.locator(config.modalSelector).first().click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("submit")));
+                    deadline.sleep("submit", 500);
                 } catch (Exception e) {
                     // Ignore
                 }
@@ -779,18 +2307,60 @@ public class BidderBot {
             
             // Click submit button
             app.logMessage("💆 Clicking submit button");
-            submitButton.click();
-            
-            // Wait for submission to complete
-            Thread.sleep(2000);
-            
-            app.logMessage("✅ Bid submitted successfully");
-            return true;
-            
+            submitButton.click(new Locator.ClickOptions().setTimeout(deadline.timeoutFor("submit")));
         } catch (Exception e) {
             app.logMessage("❌ Error submitting bid: " + e.getMessage());
+            bidState().failure = classifyBidFailure(e, deadline);
             return false;
         }
+        
+        // Wait for the modal to close instead of a fixed 2s sleep. The bid is
+        // already sent, so running out of budget here only leaves it unconfirmed.
+        Locator modal = target.locator(config.modalSelector).first();
+        Locator modalError = target.locator(config.modalSelector + " [class*='error']");
+        while (true) {
+            try {
+                // An error message left in the modal means the server refused the bid
+                if (modalError.count() > 0) {
+                    app.logMessage("⛔ Bid rejected by server");
+                    bidState().failure = FailureClass.SERVER_REJECTION;
+                    return false;
+                }
+                modal.waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.HIDDEN)
+                    .setTimeout(Math.min(100, deadline.timeoutFor("confirm"))));
+                break;
+            } catch (BidDeadline.BudgetExhaustedException e) {
+                // Still "sent": falling back to another strategy could bid twice
+                app.logMessage("⏱️ Bid sent but not confirmed within budget");
+                bidState().unconfirmed = true;
+                return true;
+            } catch (Exception e) {
+                // Modal still open - check for an error again
+            }
+        }
+        
+        app.logMessage("✅ Bid submitted successfully");
+        return true;
+    }
+    
+    // A sent bid counts as placed only once the site confirmed it. An
+    // unconfirmed one may or may not have landed: it is neither counted nor
+    // retried (a retry could bid twice), and the outcome tracker files it
+    // under "<strategy>-unconfirmed" so the report keeps it apart.
+    private void onBidSent(String orderKey, String strategy, String title) {
+        if (bidState().unconfirmed) {
+            stats.increment("bid.unconfirmed");
+            app.logMessage("⏳ BID SENT BUT UNCONFIRMED for: " + title);
+            strategy += "-unconfirmed";
+        } else {
+            stats.increment("bid.confirmed");
+            app.updateSuccessfulBids(successfulBids.incrementAndGet());
+            app.logMessage("✅ BID PLACED SUCCESSFULLY for: " + title);
+        }
+        if (outcomeTracker != null) {
+            outcomeTracker.onBidPlaced(orderKey, strategy, System.currentTimeMillis());
+        }
     }
     
     // REMOVED: All bid placement functionality per user request
@@ -798,17 +2368,106 @@ public class BidderBot {
     
 
     
+    // Tabs opened by this run - everything except the main search tab
+    private void closeOwnedPages() {
+        for (ScanShard shard : shards) {
+            if (shard.page != page && !shard.page.isClosed()) {
+                shard.page.close();
+            }
+            if (shard.standby != null && shard.standby != page && !shard.standby.isClosed()) {
+                shard.standby.close();
+            }
+        }
+    }
+    
+    // Ends the monitor loop without touching Playwright - for callers on
+    // another thread; whoever runs start() calls stop() once it returns
+    public void requestStop() {
+        running = false;
+    }
+    
     public void stop() {
         running = false;
         
+        if (configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+        
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+        
+        if (outcomeTracker != null) {
+            outcomeTracker.stop();
+            outcomeTracker = null;
+        }
+        
+        if (retryWorker != null) {
+            retryWorker.stop();
+            retryWorker = null;
+        }
+        
+        if (bidStrategies != null) {
+            app.logMessage("🧩 Bid strategies: " + bidStrategies.describe());
+            app.logMessage("🧩 Order sources: " + orderSources.describe());
+        }
+        
+        if (rpcMeter != null) {
+            RpcMeter.Tally total = rpcMeter.total();
+            app.logMessage("🔌 " + total.calls() + " driver calls, " + total.millis() + "ms in total. Slowest sites: "
+                + total.top(10));
+        }
+        
+        if (assetCache != null) {
+            assetCache.close();
+        }
+        
+        if (historyStore != null) {
+            try {
+                historyStore.close();
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+            historyStore = null;
+        }
+        
+        if (sharedClaims != null) {
+            try {
+                sharedClaims.close();
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+            sharedClaims = null;
+        }
+        
+        if (flightRecorder != null) {
+            Path dump = flightRecorder.stop();
+            if (dump != null) {
+                app.logMessage("🛩️ Flight recording saved to " + dump);
+            }
+            flightRecorder = null;
+        }
+        
         try {
+            if (traceRecorder != null) {
+                traceRecorder.stop();
+                traceRecorder = null;
+            }
             if (context != null) {
-                // Save session before closing
-                context.storageState(new BrowserContext.StorageStateOptions().setPath(Path.of(STORAGE_STATE_PATH)));
-                context.close();
+                // Save session before closing (never from replayed traffic)
+                if (harReplayPath == null) {
+                    context.storageState(new BrowserContext.StorageStateOptions().setPath(Path.of(STORAGE_STATE_PATH)));
+                }
+                if (attachedOverCDP) {
+                    // Leave the browser and search tab warm for the next attach
+                    closeOwnedPages();
+                } else {
+                    context.close(); // Also flushes a HAR recording to disk
+                }
             }
             if (browser != null) {
-                browser.close();
+                browser.close(); // Only disconnects when attached over CDP
             }
             if (playwright != null) {
                 playwright.close();
@@ -818,5 +2477,26 @@ public class BidderBot {
         }
         
         app.logMessage("Bot stopped and resources cleaned up");
+        
+        if (eventLog != null) {
+            AsyncEventLog.release(eventLog);
+            eventLog = null; // stop() may run twice; release only once
+        }
+    }
+    
+    // Developer detail: to the event log at DEBUG level when it's on, else stdout
+    private void debug(String message) {
+        AsyncEventLog log = eventLog;
+        if (log != null) {
+            log.debug(botId, message);
+        } else {
+            System.out.println(message);
+        }
+    }
+    
+    private static String stackTraceOf(Exception e) {
+        StringWriter trace = new StringWriter();
+        e.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
     }
 }
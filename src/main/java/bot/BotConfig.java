@@ -0,0 +1,254 @@
+package bot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+// Immutable snapshot of the bot's tunable timings and selectors. A config
+// file only needs the keys it changes; everything else keeps its default.
+// List values are separated by "||" because selectors contain commas.
+// The running bot swaps whole snapshots, so a reload never applies half a file.
+final class BotConfig {
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+    static {
+        // Monitor loop pacing
+        DEFAULTS.put("cycle.delayMs", "100");
+        DEFAULTS.put("cycle.errorBackoffMs", "500");
+        DEFAULTS.put("cycle.reloadWaitMs", "1000");
+        DEFAULTS.put("filter.settleMs", "50");
+        // Filter refresh - wait for the search XHR/fetch instead of a fixed settle. It is
+        // picked out by URL (regex), method and, optionally, a regex over its query and body;
+        // filter.settleMs then caps the wait for the re-render. Off (0) until the endpoint is set
+        DEFAULTS.put("filter.responsePattern", "");
+        DEFAULTS.put("filter.requestMethod", "");
+        DEFAULTS.put("filter.requestPattern", "");
+        DEFAULTS.put("filter.responseTimeoutMs", "0");
+        // Tiered scan
+        DEFAULTS.put("scan.list", "1");
+        DEFAULTS.put("scan.fullInterval", "10");
+        DEFAULTS.put("scan.fullDepthLimit", "3");
+        DEFAULTS.put("scan.scrollSettleMs", "50");
+        // Bidding
+        DEFAULTS.put("bid.timeoutMs", "2000");
+        DEFAULTS.put("bid.returnWaitMs", "1000");
+        // Hot standby - a search tab silent this long is swapped for its standby
+        DEFAULTS.put("standby.stallMs", "5000");
+        // Context recycling - schedule, JS heap limit, slowdown vs. fresh context (percent), lull length
+        DEFAULTS.put("recycle.intervalMinutes", "240");
+        DEFAULTS.put("recycle.heapMb", "512");
+        DEFAULTS.put("recycle.slowdownPercent", "200");
+        DEFAULTS.put("recycle.quietCycles", "20");
+        // DOM maintenance - node count sampled every N cycles (0 = off); seen orders'
+        // nodes removed from the search tabs, and/or the list capped to the newest N (0 = no cap)
+        DEFAULTS.put("dom.checkEvery", "20");
+        DEFAULTS.put("dom.pruneSeen", "false");
+        DEFAULTS.put("dom.keepNewest", "0");
+        // Dedupe - orders expire on the site anyway, so the seen set forgets them too
+        DEFAULTS.put("dedupe.ttlMinutes", "1440");
+        // Selectors
+        DEFAULTS.put("selector.orderContainer", ".orderA-converted__order");
+        DEFAULTS.put("selector.orderLink", ".orderA-converted__name");
+        DEFAULTS.put("selector.orderCategory", "[class*='category'], [class*='subject']");
+        DEFAULTS.put("selector.orderBids", "[class*='bids'], [class*='bidCount']");
+        DEFAULTS.put("selector.orderBudget", "[class*='budget'], [class*='price']");
+        DEFAULTS.put("selector.filterApply", ".filter-converted__apply");
+        DEFAULTS.put("selector.modal", "div.ui-modal-content");
+        DEFAULTS.put("selector.bidButton", "#showBidForm||button[data-testid*='MakeBid']||button.styled__MakeBidButton-sc-18augvm-9"
+            + "||button:has-text('Place a Bid')||button:has-text('Bid')||.bid-button||button[class*='bid']");
+        DEFAULTS.put("selector.amount", "input[type='number']||input[name='bid_amount']||input[placeholder*='amount']"
+            + "||input[class*='amount']||.iPnaAx");
+        DEFAULTS.put("selector.message", ".auctionTextarea-converted__textarea||textarea[name='message']"
+            + "||textarea[placeholder*='bid']||textarea[placeholder*='message']||textarea");
+        DEFAULTS.put("selector.submit", "button[type='submit']||button:has-text('Submit')||button:has-text('Send Bid')"
+            + "||button:has-text('Send')||button.styled__StyledButton-sc-6klmhm-0||input[type='submit']"
+            + "||button[class*='submit']||button[class*='Send']");
+    }
+
+    private final Map<String, String> values;
+
+    final int cycleDelayMs;
+    final int errorBackoffMs;
+    final int reloadWaitMs;
+    final int filterSettleMs;
+    final Pattern filterResponsePattern; // Null while unset
+    final String filterRequestMethod;
+    final Pattern filterRequestPattern;  // Null = any query and body
+    final int filterResponseTimeoutMs;
+    final int scanList;
+    final int fullScanInterval;
+    final int fullScanDepthLimit;
+    final int scrollSettleMs;
+    final int bidTimeoutMs;
+    final int returnWaitMs;
+    final int seenTtlMinutes;
+    final int standbyStallMs;
+    final int recycleIntervalMinutes;
+    final int recycleHeapMb;
+    final int recycleSlowdownPercent;
+    final int recycleQuietCycles;
+    final int domCheckEvery;
+    final boolean domPruneSeen;
+    final int domKeepNewest;
+    final String orderContainerSelector;
+    final String orderLinkSelector;
+    final String orderCategorySelector;
+    final String orderBidsSelector;
+    final String orderBudgetSelector;
+    final String filterApplySelector;
+    final String modalSelector;
+    final List<String> bidButtonSelectors;
+    final List<String> amountSelectors;
+    final List<String> messageSelectors;
+    final List<String> submitSelectors;
+
+    private BotConfig(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+        cycleDelayMs = intValue("cycle.delayMs", 0);
+        errorBackoffMs = intValue("cycle.errorBackoffMs", 0);
+        reloadWaitMs = intValue("cycle.reloadWaitMs", 0);
+        filterSettleMs = intValue("filter.settleMs", 0);
+        filterResponsePattern = patternValue("filter.responsePattern"); // Bad regex rejects the file
+        filterRequestMethod = values.get("filter.requestMethod").toUpperCase();
+        filterRequestPattern = patternValue("filter.requestPattern");
+        filterResponseTimeoutMs = intValue("filter.responseTimeoutMs", 0);
+        if (filterResponseTimeoutMs > 0 && (filterResponsePattern == null || filterRequestMethod.isEmpty())) {
+            // Any XHR would do otherwise, and single flight would clear on the wrong one
+            throw new IllegalArgumentException("filter.responseTimeoutMs needs filter.responsePattern and "
+                + "filter.requestMethod set to the search request");
+        }
+        scanList = intValue("scan.list", 1);
+        fullScanInterval = intValue("scan.fullInterval", 0);
+        fullScanDepthLimit = intValue("scan.fullDepthLimit", 1);
+        scrollSettleMs = intValue("scan.scrollSettleMs", 0);
+        bidTimeoutMs = intValue("bid.timeoutMs", 1);
+        returnWaitMs = intValue("bid.returnWaitMs", 0);
+        seenTtlMinutes = intValue("dedupe.ttlMinutes", 1);
+        standbyStallMs = intValue("standby.stallMs", 100);
+        recycleIntervalMinutes = intValue("recycle.intervalMinutes", 0);
+        recycleHeapMb = intValue("recycle.heapMb", 0);
+        recycleSlowdownPercent = intValue("recycle.slowdownPercent", 0);
+        recycleQuietCycles = intValue("recycle.quietCycles", 0);
+        domCheckEvery = intValue("dom.checkEvery", 0);
+        domPruneSeen = booleanValue("dom.pruneSeen");
+        domKeepNewest = intValue("dom.keepNewest", 0);
+        orderContainerSelector = stringValue("selector.orderContainer");
+        orderLinkSelector = stringValue("selector.orderLink");
+        orderCategorySelector = stringValue("selector.orderCategory");
+        orderBidsSelector = stringValue("selector.orderBids");
+        orderBudgetSelector = stringValue("selector.orderBudget");
+        filterApplySelector = stringValue("selector.filterApply");
+        modalSelector = stringValue("selector.modal");
+        bidButtonSelectors = listValue("selector.bidButton");
+        amountSelectors = listValue("selector.amount");
+        messageSelectors = listValue("selector.message");
+        submitSelectors = listValue("selector.submit");
+    }
+
+    static BotConfig defaults() {
+        return new BotConfig(new LinkedHashMap<>(DEFAULTS));
+    }
+
+    // Defaults overlaid with the file; unknown keys and bad values are errors
+    // so a typo doesn't silently leave the old value in place
+    static BotConfig load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            overrides.put(key, props.getProperty(key));
+        }
+        return defaults().with(overrides);
+    }
+
+    // A new snapshot with some values replaced; this one is left untouched
+    BotConfig with(Map<String, String> overrides) {
+        Map<String, String> merged = new LinkedHashMap<>(values);
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            if (!DEFAULTS.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("Unknown config key: " + entry.getKey());
+            }
+            merged.put(entry.getKey(), entry.getValue().trim());
+        }
+        return new BotConfig(merged);
+    }
+
+    Map<String, String> values() {
+        return values;
+    }
+
+    // "key: old -> new" for every value that differs from `previous`
+    List<String> changesFrom(BotConfig previous) {
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String old = previous.values.get(entry.getKey());
+            if (!entry.getValue().equals(old)) {
+                changes.add(entry.getKey() + ": " + old + " -> " + entry.getValue());
+            }
+        }
+        return changes;
+    }
+
+    private int intValue(String key, int min) {
+        String raw = values.get(key);
+        int value;
+        try {
+            value = Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + raw);
+        }
+        if (value < min) {
+            throw new IllegalArgumentException(key + " must be at least " + min + ": " + raw);
+        }
+        return value;
+    }
+
+    private boolean booleanValue(String key) {
+        String raw = values.get(key);
+        if (!raw.equals("true") && !raw.equals("false")) {
+            throw new IllegalArgumentException(key + " must be true or false: " + raw);
+        }
+        return raw.equals("true");
+    }
+
+    private String stringValue(String key) {
+        String value = values.get(key);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(key + " must not be empty");
+        }
+        return value;
+    }
+
+    private Pattern patternValue(String key) {
+        String value = values.get(key);
+        return value.isEmpty() ? null : Pattern.compile(value);
+    }
+
+    private List<String> listValue(String key) {
+        List<String> list = new ArrayList<>();
+        for (String item : stringValue(key).split("\\|\\|")) {
+            if (!item.trim().isEmpty()) {
+                list.add(item.trim());
+            }
+        }
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException(key + " must list at least one selector");
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package bot;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Continuous, bounded Flight Recorder session for production runs. Keeps
+// the last few minutes of JVM and bot events and dumps them to disk when
+// the bot stops or a monitor cycle crosses the slow-cycle threshold.
+//
+// Enable with -Dbot.jfr=true; tune with -Dbot.jfr.slowCycleMs (default 2000)
+// and -Dbot.jfr.dir (default "recordings").
+public class BotFlightRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final long MIN_DUMP_INTERVAL_MS = 60_000; // Don't flood the disk during a long stall
+    
+    private final Recording recording;
+    private final Path outputDir;
+    private final long slowCycleThresholdMs;
+    private long lastSlowDumpMs = 0;
+    
+    private BotFlightRecorder(Recording recording, Path outputDir, long slowCycleThresholdMs) {
+        this.recording = recording;
+        this.outputDir = outputDir;
+        this.slowCycleThresholdMs = slowCycleThresholdMs;
+    }
+    
+    // Returns null unless enabled through system properties
+    public static BotFlightRecorder fromSystemProperties(BotListener app) {
+        if (!Boolean.getBoolean("bot.jfr")) {
+            return null;
+        }
+        long threshold = Long.getLong("bot.jfr.slowCycleMs", 2000);
+        Path dir = Path.of(System.getProperty("bot.jfr.dir", "recordings"));
+        try {
+            BotFlightRecorder recorder = start(dir, threshold);
+            app.logMessage("🛩️ Flight recording active - slow cycle threshold " + threshold + "ms, dumps to " + dir);
+            return recorder;
+        } catch (Exception e) {
+            app.logMessage("⚠️ Could not start flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    public static BotFlightRecorder start(Path outputDir, long slowCycleThresholdMs) throws Exception {
+        // The "default" settings are the low-overhead continuous profile
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("bidder-bot");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(5));
+        recording.enable(JfrEvents.MonitorCycle.class);
+        recording.enable(JfrEvents.FilterClick.class);
+        recording.enable(JfrEvents.OrderExtraction.class);
+        recording.enable(JfrEvents.Dedupe.class);
+        recording.enable(JfrEvents.BidStrategy.class);
+        recording.enable(JfrEvents.BidStep.class);
+        recording.enable(JfrEvents.SessionCheck.class);
+        recording.enable(JfrEvents.LogFlush.class);
+        recording.start();
+        return new BotFlightRecorder(recording, outputDir, slowCycleThresholdMs);
+    }
+    
+    // Called after every monitor cycle; dumps the window if the cycle was slow
+    public Path onCycleFinished(int cycle, long cycleMs) {
+        if (cycleMs < slowCycleThresholdMs) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastSlowDumpMs < MIN_DUMP_INTERVAL_MS) {
+            return null;
+        }
+        lastSlowDumpMs = now;
+        return dump("slow-cycle-" + cycle + "-" + cycleMs + "ms");
+    }
+    
+    public Path dump(String reason) {
+        try {
+            Files.createDirectories(outputDir);
+            Path file = outputDir.resolve("bot-" + LocalDateTime.now().format(FILE_TIME) + "-" + reason + ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    // Dumps the final window and ends the recording
+    public Path stop() {
+        Path file = dump("stop");
+        recording.close();
+        return file;
+    }
+}
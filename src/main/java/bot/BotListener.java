@@ -0,0 +1,15 @@
+package bot;
+
+// Everything the bot reports back to whoever is driving it - the Swing GUI
+// in normal use, the console for headless harness runs
+public interface BotListener {
+    void logMessage(String message);
+    
+    void updateFoundOrders(int count);
+    
+    void updateSuccessfulBids(int count);
+    
+    void updateRetryStats(int pending);
+    
+    void notifyOrderFound(String orderTitle);
+}
@@ -0,0 +1,64 @@
+package bot;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Shared named counters for the bot - written from the monitor thread,
+// read from the GUI (or anything else) through snapshot()
+public class BotStats {
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    
+    public void increment(String name) {
+        add(name, 1);
+    }
+    
+    public void add(String name, long amount) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(amount);
+    }
+    
+    public long get(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter.sum();
+        }
+        AtomicLong gauge = gauges.get(name);
+        return gauge == null ? 0 : gauge.get();
+    }
+    
+    // A current level (DOM size, queue depth) rather than a running total
+    public void set(String name, long value) {
+        gauges.computeIfAbsent(name, k -> new AtomicLong()).set(value);
+    }
+    
+    public void recordLatency(String name, long millis) {
+        latency(name).record(millis);
+    }
+    
+    public LatencyRecorder latency(String name) {
+        return latencies.computeIfAbsent(name, k -> new LatencyRecorder());
+    }
+    
+    // Sorted copy of every counter (and latency percentiles), safe to hand to other threads
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().sum());
+        }
+        for (Map.Entry<String, AtomicLong> entry : gauges.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, LatencyRecorder> entry : latencies.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            snapshot.put(entry.getKey() + ".count", recorder.count());
+            snapshot.put(entry.getKey() + ".p50", recorder.percentileMs(50));
+            snapshot.put(entry.getKey() + ".p95", recorder.percentileMs(95));
+            snapshot.put(entry.getKey() + ".max", recorder.maxMs());
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,100 @@
+package bot;
+
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Watches the config file's directory and hands every valid reload to the
+// bot as a complete BotConfig snapshot (defaults + file; the bot layers its
+// control API overrides on top). Changes are logged against the previous
+// file contents. Runs on its own daemon thread and
+// never touches Playwright - the monitor thread picks the snapshot up at the
+// start of its next cycle. A file that fails to parse is logged and ignored,
+// leaving the last good config in effect.
+public class ConfigWatcher {
+    private final Path file;
+    private final BotListener app;
+    private final BotStats stats;
+    private final Consumer<BotConfig> onReload;
+    private WatchService watchService;
+    private Thread thread;
+    private BotConfig current;
+
+    public ConfigWatcher(Path file, BotConfig initial, BotStats stats, BotListener app, Consumer<BotConfig> onReload) {
+        this.file = file.toAbsolutePath();
+        this.current = initial;
+        this.stats = stats;
+        this.app = app;
+        this.onReload = onReload;
+    }
+
+    public void start() throws Exception {
+        watchService = FileSystems.getDefault().newWatchService();
+        // Editors often save by replacing the file, so watch creates as well as modifies
+        file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object changed = event.context();
+                    if (changed instanceof Path && file.getFileName().equals(changed)) {
+                        touched = true;
+                    }
+                }
+                key.reset();
+                if (touched) {
+                    Thread.sleep(100); // Let the writer finish before reading
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private void reload() {
+        BotConfig next;
+        try {
+            next = BotConfig.load(file);
+        } catch (Exception e) {
+            stats.increment("config.errors");
+            app.logMessage("⚠️ Config " + file.getFileName() + " not applied: " + e.getMessage());
+            return;
+        }
+        List<String> changes = next.changesFrom(current);
+        if (changes.isEmpty()) {
+            return;
+        }
+        current = next;
+        onReload.accept(next);
+        stats.increment("config.reloads");
+        app.logMessage("🔧 Config reloaded - " + changes.size() + " change(s):");
+        for (String change : changes) {
+            app.logMessage("   " + change);
+        }
+    }
+
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+    }
+}
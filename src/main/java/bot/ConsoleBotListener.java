@@ -0,0 +1,37 @@
+package bot;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+// Headless listener - prints bot messages to stdout, ignores GUI-only updates
+public class ConsoleBotListener implements BotListener {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private final boolean verbose;
+    
+    public ConsoleBotListener(boolean verbose) {
+        this.verbose = verbose;
+    }
+    
+    @Override
+    public void logMessage(String message) {
+        if (verbose && !AsyncEventLog.ownsConsole()) {
+            System.out.println("[" + LocalTime.now().format(TIME_FORMAT) + "] " + message);
+        }
+    }
+    
+    @Override
+    public void updateFoundOrders(int count) {
+    }
+    
+    @Override
+    public void updateSuccessfulBids(int count) {
+    }
+    
+    @Override
+    public void updateRetryStats(int pending) {
+    }
+    
+    @Override
+    public void notifyOrderFound(String orderTitle) {
+    }
+}
@@ -0,0 +1,88 @@
+package bot;
+
+import java.util.Arrays;
+
+// Decides when the browser context should be replaced. Hours of polling,
+// filter clicks and scrolling grow the renderer's heap and DOM and slow the
+// cycle down; a fresh context built from the same storage state starts
+// clean. Recycling is due on a schedule, when the search tabs' JS heap
+// passes a limit, or when recent cycles run a multiple slower than the
+// cycles right after the last recycle - and it only starts during a lull
+// (no new orders for a while, no bids queued or waiting for a retry).
+//
+// This class only keeps the numbers; BidderBot performs the swap. Enable
+// with -Dbot.recycle=true; thresholds are the recycle.* config keys.
+class ContextRecycler {
+    private static final int WINDOW = 50; // Cycles in the baseline and in the recent window
+
+    private final long[] baseline = new long[WINDOW];
+    private final long[] recent = new long[WINDOW];
+    private int baselineCount;
+    private int recentCount;
+    private long contextStartedMs = System.currentTimeMillis();
+    private int quietCycles;
+    private long heapMb;
+    private long notBeforeMs;
+
+    // Called once per finished cycle
+    void onCycle(long cycleMs, int newOrders) {
+        if (baselineCount < WINDOW) {
+            baseline[baselineCount++] = cycleMs;
+        } else {
+            recent[recentCount++ % WINDOW] = cycleMs;
+        }
+        quietCycles = newOrders > 0 ? 0 : quietCycles + 1;
+    }
+
+    // Heap is sampled with an evaluate, so only every WINDOW cycles
+    boolean heapSampleDue(int cycle) {
+        return cycle % WINDOW == 0;
+    }
+
+    void recordHeapMb(long mb) {
+        heapMb = mb;
+    }
+
+    // Why the context should be recycled now, or null
+    String dueReason(BotConfig config, boolean busy) {
+        if (busy || quietCycles < config.recycleQuietCycles || System.currentTimeMillis() < notBeforeMs) {
+            return null; // Wait for a lull
+        }
+        long ageMinutes = (System.currentTimeMillis() - contextStartedMs) / 60_000;
+        if (config.recycleIntervalMinutes > 0 && ageMinutes >= config.recycleIntervalMinutes) {
+            return "scheduled after " + ageMinutes + " min";
+        }
+        if (config.recycleHeapMb > 0 && heapMb >= config.recycleHeapMb) {
+            return "JS heap at " + heapMb + " MB";
+        }
+        if (config.recycleSlowdownPercent > 0 && baselineCount == WINDOW && recentCount >= WINDOW) {
+            long before = median(baseline);
+            long now = median(recent);
+            if (before > 0 && now * 100 >= before * config.recycleSlowdownPercent) {
+                return "cycle p50 " + now + "ms vs " + before + "ms after the last recycle";
+            }
+        }
+        return null;
+    }
+
+    // Fresh context: start measuring again
+    void onRecycled() {
+        contextStartedMs = System.currentTimeMillis();
+        baselineCount = 0;
+        recentCount = 0;
+        quietCycles = 0;
+        heapMb = 0;
+    }
+
+    // The new context never became ready - leave the old one alone for a while
+    void onAborted() {
+        notBeforeMs = System.currentTimeMillis() + 5 * 60_000;
+        quietCycles = 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,399 @@
+package bot;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Localhost HTTP/JSON control plane for headless runs - lets scripts start
+// and stop bots, flip bid placement, tune the live config and read stats and
+// recent events without the Swing GUI. Request bodies are form-encoded
+// (key=value&...), responses are JSON. Binds to 127.0.0.1 only.
+//
+// Any web page in a local browser can reach 127.0.0.1 too, so every request
+// must carry the per-run token (printed at startup, or -Dbot.control.token)
+// in an X-Bot-Token header - a custom header a cross-site form can't send -
+// and requests whose Host or Origin isn't local are refused.
+//
+//   java -cp bidder-bot.jar bot.ControlServer [port]        (default 8787)
+//
+//   GET  /bots                         list bots
+//   POST /bots                         username, password, bidding, headless -> {"id":1}
+//   POST /bots/{id}/stop
+//   POST /bots/{id}/bidding            enabled=true|false
+//   GET  /bots/{id}/config
+//   POST /bots/{id}/config             any BotConfig keys, e.g. cycle.delayMs=50
+//   GET  /bots/{id}/stats
+//   GET  /bots/{id}/events?since=N
+public class ControlServer {
+    private static final int DEFAULT_PORT = 8787;
+    private static final int EVENT_RING_SIZE = 1000;
+    private static final String TOKEN_HEADER = "X-Bot-Token";
+    private static final List<String> LOCAL_HOSTS = List.of("127.0.0.1", "localhost", "[::1]");
+
+    // A bot started through the API, with the thread running its loop
+    private static class ManagedBot {
+        final int id;
+        final BidderBot bot;
+        final EventRing events;
+        volatile String state = "starting";
+        volatile String error;
+        Thread thread;
+
+        ManagedBot(int id, BidderBot bot, EventRing events) {
+            this.id = id;
+            this.bot = bot;
+            this.events = events;
+        }
+    }
+
+    private final Map<Integer, ManagedBot> bots = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final byte[] token;
+    private HttpServer server;
+
+    ControlServer(String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String token = System.getProperty("bot.control.token");
+        if (token == null || token.isEmpty()) {
+            token = randomToken();
+        }
+        ControlServer control = new ControlServer(token);
+        control.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(control::stop));
+        System.out.println("🎛️ Control API listening on http://127.0.0.1:" + port + "/bots");
+        System.out.println("🔑 Send '" + TOKEN_HEADER + ": " + token + "' with every request");
+    }
+
+    private static String randomToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/bots", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.start();
+    }
+
+    // Stops every bot, then the server. Each bot cleans up on its own thread
+    // (Playwright objects belong to the thread that created them)
+    public void stop() {
+        for (ManagedBot managed : bots.values()) {
+            managed.bot.requestStop();
+        }
+        for (ManagedBot managed : bots.values()) {
+            try {
+                managed.thread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String refused = refusal(exchange);
+            if (refused != null) {
+                send(exchange, 403, error(refused));
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("/+$", "").split("/");
+            // path = ["", "bots", id?, action?]
+            if (path.length == 2) {
+                if (method.equals("GET")) {
+                    send(exchange, 200, listBots());
+                } else if (method.equals("POST")) {
+                    send(exchange, 201, startBot(readForm(exchange)));
+                } else {
+                    send(exchange, 405, error("Method not allowed"));
+                }
+                return;
+            }
+
+            ManagedBot managed = bots.get(parseId(path[2]));
+            if (managed == null) {
+                send(exchange, 404, error("No bot " + path[2]));
+                return;
+            }
+            String action = path.length > 3 ? path[3] : "";
+            String route = method + " " + action;
+            switch (route) {
+                case "GET ":
+                    send(exchange, 200, botJson(managed));
+                    break;
+                case "POST stop":
+                    // The bot's own thread closes the browser once its loop notices
+                    managed.state = "stopping";
+                    managed.bot.requestStop();
+                    send(exchange, 200, botJson(managed));
+                    break;
+                case "POST bidding":
+                    managed.bot.setBidPlacementEnabled(booleanField(readForm(exchange), "enabled", null));
+                    send(exchange, 200, botJson(managed));
+                    break;
+                case "GET config":
+                    send(exchange, 200, Json.object(managed.bot.getConfig()));
+                    break;
+                case "POST config":
+                    List<String> changes = managed.bot.updateConfig(readForm(exchange));
+                    send(exchange, 200, "{\"changes\":" + Json.array(changes) + "}");
+                    break;
+                case "GET stats":
+                    send(exchange, 200, Json.object(managed.bot.getStatsSnapshot()));
+                    break;
+                case "GET events":
+                    send(exchange, 200, eventsJson(managed.events.since(parseSince(exchange))));
+                    break;
+                default:
+                    send(exchange, 404, error("Unknown route: " + route));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            send(exchange, 500, error(String.valueOf(e.getMessage())));
+        }
+    }
+
+    // Why a request is refused, or null: it must name a local host, come from
+    // no (or a local) origin, and carry the token
+    private String refusal(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null || !isLocalHost(host)) {
+            return "Host must be local";
+        }
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null && !isLocalOrigin(origin)) {
+            return "Cross-origin requests are not allowed";
+        }
+        String sent = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        if (sent == null || !MessageDigest.isEqual(token, sent.getBytes(StandardCharsets.UTF_8))) {
+            return "Missing or wrong " + TOKEN_HEADER;
+        }
+        return null;
+    }
+
+    // "127.0.0.1:8787", "localhost", "[::1]:8787" - the port is ours anyway
+    private static boolean isLocalHost(String host) {
+        int colon = host.lastIndexOf(':');
+        String name = colon > host.lastIndexOf(']') ? host.substring(0, colon) : host;
+        return LOCAL_HOSTS.contains(name.toLowerCase());
+    }
+
+    private static boolean isLocalOrigin(String origin) {
+        try {
+            URI uri = URI.create(origin);
+            return "http".equals(uri.getScheme()) && uri.getHost() != null && isLocalHost(uri.getHost());
+        } catch (IllegalArgumentException e) {
+            return false; // Includes "null" from sandboxed frames and file pages
+        }
+    }
+
+    private String startBot(Map<String, String> form) {
+        String username = form.getOrDefault("username", "");
+        String password = form.getOrDefault("password", "");
+        if (username.isEmpty() || password.isEmpty()) {
+            throw new IllegalArgumentException("username and password are required");
+        }
+        String bidText = booleanField(form, "bidding", false) ? "BIDDING_ENABLED" : "DETECTION_ONLY";
+        int id = nextId.getAndIncrement();
+        EventRing events = new EventRing(EVENT_RING_SIZE, new ConsoleBotListener(false));
+        BidderBot bot = new BidderBot(username, password, bidText, events);
+        bot.setHeadless(booleanField(form, "headless", true));
+        ManagedBot managed = new ManagedBot(id, bot, events);
+        bots.put(id, managed);
+
+        // start() runs the monitor loop, so each bot gets its own thread
+        Thread botThread = new Thread(() -> {
+            managed.state = "running";
+            try {
+                bot.start();
+            } catch (Exception e) {
+                if (!managed.state.equals("stopping")) { // Not just the fallout of a stop request
+                    managed.state = "failed";
+                    managed.error = e.getMessage();
+                }
+            } finally {
+                bot.stop();
+                if (!managed.state.equals("failed")) {
+                    managed.state = "stopped";
+                }
+            }
+        }, "bot-" + id);
+        managed.thread = botThread;
+        botThread.setDaemon(true);
+        botThread.start();
+        return botJson(managed);
+    }
+
+    private String listBots() {
+        List<String> items = new ArrayList<>();
+        for (ManagedBot managed : bots.values()) {
+            items.add(botJson(managed));
+        }
+        return "[" + String.join(",", items) + "]";
+    }
+
+    private String botJson(ManagedBot managed) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", managed.id);
+        fields.put("state", managed.state);
+        fields.put("error", managed.error);
+        fields.put("bidding", managed.bot.isBidPlacementEnabled());
+        fields.put("cycles", managed.bot.getCycleCount());
+        fields.put("uniqueOrders", managed.bot.getUniqueOrderCount());
+        return Json.object(fields);
+    }
+
+    private String eventsJson(Collection<EventRing.Event> events) {
+        List<String> items = new ArrayList<>();
+        for (EventRing.Event event : events) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("seq", event.seq);
+            fields.put("time", event.timeMs);
+            fields.put("message", event.message);
+            items.add(Json.object(fields));
+        }
+        return "[" + String.join(",", items) + "]";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.string(message) + "}";
+    }
+
+    private static int parseId(String raw) {
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Exactly "true" or "false" - a typo must not quietly mean false.
+    // A null fallback makes the field required
+    private static boolean booleanField(Map<String, String> form, String key, Boolean fallback) {
+        String raw = form.get(key);
+        if (raw == null && fallback != null) {
+            return fallback;
+        }
+        if (!"true".equals(raw) && !"false".equals(raw)) {
+            throw new IllegalArgumentException(key + " must be true or false: " + raw);
+        }
+        return raw.equals("true");
+    }
+
+    private static long parseSince(HttpExchange exchange) {
+        String since = parseForm(exchange.getRequestURI().getRawQuery()).get("since");
+        try {
+            return since == null ? 0 : Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("since must be a number: " + since);
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        return parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> form = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return form;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            form.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return form;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Just enough JSON output for flat objects of strings, numbers and booleans
+    static class Json {
+        static String object(Map<String, ?> fields) {
+            List<String> members = new ArrayList<>();
+            for (Map.Entry<String, ?> entry : fields.entrySet()) {
+                members.add(string(entry.getKey()) + ":" + value(entry.getValue()));
+            }
+            return "{" + String.join(",", members) + "}";
+        }
+
+        static String array(List<String> items) {
+            List<String> values = new ArrayList<>();
+            for (String item : items) {
+                values.add(string(item));
+            }
+            return "[" + String.join(",", values) + "]";
+        }
+
+        static String value(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            return string(value.toString());
+        }
+
+        static String string(String raw) {
+            StringBuilder out = new StringBuilder("\"");
+            for (char c : raw.toCharArray()) {
+                switch (c) {
+                    case '"': out.append("\\\""); break;
+                    case '\\': out.append("\\\\"); break;
+                    case '\n': out.append("\\n"); break;
+                    case '\r': out.append("\\r"); break;
+                    case '\t': out.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            return out.append('"').toString();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package bot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Side-by-side comparison of two order sources. Remembers when each source
+// first saw an order and, once both have, records how far ahead the
+// winner was as "detect.<source>.lead" latencies in BotStats.
+public class DetectionDeltaRecorder {
+    private static final int MAX_TRACKED = 10_000;
+    
+    // First sighting per source for one order key
+    private static class Sighting {
+        final String source;
+        final long atNanos;
+        
+        Sighting(String source, long atNanos) {
+            this.source = source;
+            this.atNanos = atNanos;
+        }
+    }
+    
+    private final BotStats stats;
+    // Orders only one source has seen so far; oldest dropped when full
+    private final Map<String, Sighting> firstSightings = new LinkedHashMap<String, Sighting>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Sighting> eldest) {
+            return size() > MAX_TRACKED;
+        }
+    };
+    private final Map<String, Boolean> completed = new LinkedHashMap<String, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TRACKED;
+        }
+    };
+    
+    public DetectionDeltaRecorder(BotStats stats) {
+        this.stats = stats;
+    }
+    
+    public synchronized void onSighting(String orderKey, String source, long atNanos) {
+        if (completed.containsKey(orderKey)) {
+            return;
+        }
+        Sighting first = firstSightings.get(orderKey);
+        if (first == null) {
+            firstSightings.put(orderKey, new Sighting(source, atNanos));
+            return;
+        }
+        if (first.source.equals(source)) {
+            return; // Same source again - only the first sighting counts
+        }
+        firstSightings.remove(orderKey);
+        completed.put(orderKey, Boolean.TRUE);
+        long leadMs = (atNanos - first.atNanos) / 1_000_000;
+        stats.increment("detect.first." + first.source);
+        stats.recordLatency("detect." + first.source + ".lead", leadMs);
+    }
+}
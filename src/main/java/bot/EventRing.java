@@ -0,0 +1,77 @@
+package bot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Listener that keeps the most recent bot messages in a bounded ring (for
+// the control API) and forwards everything to another listener
+public class EventRing implements BotListener {
+    // One log line or order sighting; seq increases by one per event
+    static class Event {
+        final long seq;
+        final long timeMs;
+        final String message;
+
+        Event(long seq, long timeMs, String message) {
+            this.seq = seq;
+            this.timeMs = timeMs;
+            this.message = message;
+        }
+    }
+
+    private final int capacity;
+    private final BotListener delegate;
+    private final ArrayDeque<Event> events = new ArrayDeque<>();
+    private long nextSeq = 1;
+
+    public EventRing(int capacity, BotListener delegate) {
+        this.capacity = capacity;
+        this.delegate = delegate;
+    }
+
+    private synchronized void add(String message) {
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(new Event(nextSeq++, System.currentTimeMillis(), message));
+    }
+
+    // Events with seq > afterSeq, oldest first
+    public synchronized List<Event> since(long afterSeq) {
+        List<Event> result = new ArrayList<>();
+        for (Event event : events) {
+            if (event.seq > afterSeq) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void logMessage(String message) {
+        add(message);
+        delegate.logMessage(message);
+    }
+
+    @Override
+    public void updateFoundOrders(int count) {
+        delegate.updateFoundOrders(count);
+    }
+
+    @Override
+    public void updateSuccessfulBids(int count) {
+        delegate.updateSuccessfulBids(count);
+    }
+
+    @Override
+    public void updateRetryStats(int pending) {
+        delegate.updateRetryStats(pending);
+    }
+
+    @Override
+    public void notifyOrderFound(String orderTitle) {
+        add("ORDER FOUND: " + orderTitle);
+        delegate.notifyOrderFound(orderTitle);
+    }
+}
@@ -0,0 +1,21 @@
+package bot;
+
+// Why a bid attempt failed, with the retry policy for each kind of failure.
+// Transient failures (modal/navigation) get more attempts and short backoff,
+// server rejections back off hard so we don't hammer the bid endpoint.
+public enum FailureClass {
+    SELECTOR_MISS(2, 1000, 8000),
+    MODAL_TIMEOUT(3, 500, 5000),
+    NAVIGATION_ERROR(3, 1000, 15000),
+    SERVER_REJECTION(2, 5000, 30000);
+    
+    final int maxAttempts;   // Total attempts (first try included) for this class
+    final long baseDelayMs;  // Backoff before the first retry
+    final long maxDelayMs;   // Backoff ceiling
+    
+    FailureClass(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+}
@@ -0,0 +1,92 @@
+package bot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replays a recorded HAR once per fault profile with bidding enabled and
+// reports how tail latency and success rate of each bid strategy degrade.
+// Order pages and bid POSTs aren't in a (detection-only) recording;
+// FaultInjector stubs both. "success" counts confirmed bids only - bids sent whose modal never
+// closed within budget are the "unconf" column.
+//
+//   java -cp bidder-bot.jar bot.FaultInjectionHarness <har-file> [cycles] [profile-spec ...]
+//
+// Without profile specs the built-in set from FaultProfile.builtIn() is used.
+public class FaultInjectionHarness {
+    private static final int DEFAULT_CYCLES = 100;
+    private static final String[] STRATEGIES = {"modal", "navigation", "retry", "all"};
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: FaultInjectionHarness <har-file> [cycles] [profile-spec ...]");
+            System.out.println("  profile-spec: name:latency=0.3@800,dropModal=0.5,renameSelectors=1,bid5xx=0.5,navStall=0.2@5000");
+            System.exit(1);
+        }
+        Path harPath = Path.of(args[0]);
+        if (!Files.exists(harPath)) {
+            System.err.println("HAR file not found: " + harPath);
+            System.exit(1);
+        }
+        int cycles = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CYCLES;
+        
+        List<FaultProfile> profiles = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            profiles.add(FaultProfile.parse(args[i]));
+        }
+        if (profiles.isEmpty()) {
+            profiles = FaultProfile.builtIn();
+        }
+        
+        List<String> report = new ArrayList<>();
+        for (FaultProfile profile : profiles) {
+            System.out.println("💣 Running profile " + profile);
+            BotStats stats = runProfile(harPath, cycles, profile);
+            report.addAll(describe(profile, stats));
+        }
+        
+        System.out.println("===== FAULT INJECTION REPORT (" + cycles + " cycles per profile) =====");
+        System.out.println(String.format("%-20s %-11s %6s %8s %8s %8s %8s %8s %8s",
+            "profile", "strategy", "bids", "success", "unconf", "p50", "p95", "p99", "max"));
+        report.forEach(System.out::println);
+        System.out.println("Order pages and bid POSTs are stubs (navigation/retry run against them); the search-page");
+        System.out.println("modal only gets the traffic the HAR holds - requests it lacks are aborted.");
+    }
+    
+    private static BotStats runProfile(Path harPath, int cycles, FaultProfile profile) throws Exception {
+        BidderBot bot = new BidderBot("", "", "BIDDING_ENABLED", new ConsoleBotListener(false));
+        bot.replayHar(harPath);
+        bot.injectFaults(profile);
+        bot.setCycleLimit(cycles);
+        bot.setHeadless(true);
+        try {
+            bot.start();
+        } finally {
+            bot.stop();
+        }
+        return bot.getStats();
+    }
+    
+    private static List<String> describe(FaultProfile profile, BotStats stats) {
+        List<String> rows = new ArrayList<>();
+        for (String strategy : STRATEGIES) {
+            String prefix = "bid.strategy." + strategy;
+            LatencyRecorder latency = stats.latency(prefix);
+            if (latency.count() == 0) {
+                continue;
+            }
+            long unconfirmed = stats.get(prefix + ".unconfirmed");
+            long confirmed = stats.get(prefix + ".success") - unconfirmed;
+            double successRate = 100.0 * confirmed / latency.count();
+            double unconfirmedRate = 100.0 * unconfirmed / latency.count();
+            rows.add(String.format("%-20s %-11s %6d %7.1f%% %7.1f%% %6dms %6dms %6dms %6dms",
+                profile.name, strategy, latency.count(), successRate, unconfirmedRate,
+                latency.percentileMs(50), latency.percentileMs(95), latency.percentileMs(99), latency.maxMs()));
+        }
+        if (rows.isEmpty()) {
+            rows.add(String.format("%-20s (no bids attempted)", profile.name));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,190 @@
+package bot;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Route-level stand-in for a misbehaving site. 5xx on the bid POST is
+// applied in a context route handler; DOM faults (dropped modal, renamed
+// selectors) and fetch/XHR latency by an init script in every page.
+// Install after routeFromHAR so unfaulted requests fall back to the
+// replayed traffic.
+//
+// Recordings are detection only, so order pages and bid POSTs aren't in
+// them and routeFromHAR would abort them. Both are stubbed here: an order
+// page is a minimal page with #showBidForm and a modal (default selectors)
+// whose submit POSTs the bid, so the navigation and retry strategies - and
+// a stalled navigation to an order page - have something real to measure.
+// The modal opened on the search page still only gets what the HAR holds.
+//
+// Nothing here sleeps: route handlers run on Playwright's one dispatch
+// thread, so a sleep there would hold up every page's requests at once.
+// Latency is a setTimeout in the page around fetch/XHR, and a stalled
+// navigation is served as an empty shell that reloads the real document
+// after the stall - the page's content shows up late, as it would.
+public class FaultInjector {
+    private static final String BID_ACCEPTED_BODY = "{\"success\":true}";
+    private static final String ORDER_PAGE =
+        "<!doctype html><html><head><title>Order (harness stub)</title></head><body>\n"
+        + "<h1>Order (harness stub)</h1>\n"
+        + "<button id=\"showBidForm\">Place a Bid</button>\n"
+        + "<script>\n"
+        + "document.getElementById('showBidForm').addEventListener('click', () => {\n"
+        + "  if (document.querySelector('div.ui-modal-content')) return;\n"
+        + "  const modal = document.createElement('div');\n"
+        + "  modal.className = 'ui-modal-content';\n"
+        + "  modal.innerHTML = '<form><input type=\"number\" name=\"bid_amount\">'\n"
+        + "    + '<textarea class=\"auctionTextarea-converted__textarea\" name=\"message\"></textarea>'\n"
+        + "    + '<button type=\"submit\">Send Bid</button></form>';\n"
+        + "  const fail = () => modal.insertAdjacentHTML('beforeend', '<div class=\"bid-error\">Bid failed</div>');\n"
+        + "  modal.querySelector('form').addEventListener('submit', (e) => {\n"
+        + "    e.preventDefault();\n"
+        + "    fetch('/order/bid', { method: 'POST', body: new FormData(e.target) })\n"
+        + "      .then(r => r.ok ? modal.remove() : fail(), fail);\n"
+        + "  });\n"
+        + "  document.body.appendChild(modal);\n"
+        + "});\n"
+        + "</script></body></html>";
+    
+    private final FaultProfile profile;
+    private final BotStats stats;
+    private final Set<String> stalledUrls = ConcurrentHashMap.newKeySet(); // Shell served, next load is real
+    
+    public FaultInjector(FaultProfile profile, BotStats stats) {
+        this.profile = profile;
+        this.stats = stats;
+    }
+    
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handleRoute);
+        if (profile.latencyProbability > 0) {
+            context.exposeFunction("__botFaultInjected", args -> {
+                stats.increment("fault.injected." + args[0]);
+                return null;
+            });
+            context.addInitScript(latencyScript());
+        }
+        if (profile.dropModalProbability > 0 || profile.renameSelectorsProbability > 0) {
+            context.addInitScript(domFaultScript());
+        }
+    }
+    
+    private void handleRoute(Route route) {
+        Request request = route.request();
+        if (isBidPost(request)) {
+            if (roll(profile.bidPostFailureProbability)) {
+                stats.increment("fault.injected.bid5xx");
+                route.fulfill(new Route.FulfillOptions()
+                    .setStatus(503)
+                    .setContentType("application/json")
+                    .setBody("{\"error\":\"injected fault\"}"));
+            } else {
+                // Recordings are detection only, so the HAR has no bid POSTs
+                // and routeFromHAR would abort them
+                stats.increment("fault.syntheticBid");
+                route.fulfill(new Route.FulfillOptions()
+                    .setStatus(200)
+                    .setContentType("application/json")
+                    .setBody(BID_ACCEPTED_BODY));
+            }
+            return;
+        }
+        if (request.isNavigationRequest() && request.method().equals("GET")) {
+            if (stalledUrls.remove(request.url())) {
+                fulfillOrFallBack(route, request); // The shell's reload - the stall is over
+                return;
+            }
+            if (roll(profile.navigationStallProbability)) {
+                stats.increment("fault.injected.navStall");
+                stalledUrls.add(request.url());
+                route.fulfill(new Route.FulfillOptions()
+                    .setStatus(200)
+                    .setContentType("text/html")
+                    .setBody(stallShell()));
+                return;
+            }
+            fulfillOrFallBack(route, request);
+            return;
+        }
+        route.fallback();
+    }
+    
+    private void fulfillOrFallBack(Route route, Request request) {
+        if (!isOrderPage(request.url())) {
+            route.fallback();
+            return;
+        }
+        stats.increment("fault.syntheticOrderPage");
+        route.fulfill(new Route.FulfillOptions()
+            .setStatus(200)
+            .setContentType("text/html")
+            .setBody(ORDER_PAGE));
+    }
+    
+    // "/order/getoneorder/123", "/order/123" - not the search or account pages
+    private static boolean isOrderPage(String url) {
+        return OrderKeys.isNumeric(OrderKeys.extractKey(url));
+    }
+    
+    private String stallShell() {
+        return "<!doctype html><html><head><script>setTimeout(() => location.replace(location.href), "
+            + profile.navigationStallMs + ");</script></head><body></body></html>";
+    }
+    
+    // Delays a share of the page's fetch and XHR calls before they are sent
+    private String latencyScript() {
+        return "(() => {\n"
+            + "  const p = " + profile.latencyProbability + ", ms = " + profile.latencyMs + ";\n"
+            + "  const hit = () => { if (Math.random() >= p) return false; window.__botFaultInjected('latency'); return true; };\n"
+            + "  const fetch0 = window.fetch;\n"
+            + "  window.fetch = function (...args) {\n"
+            + "    if (!hit()) return fetch0.apply(this, args);\n"
+            + "    return new Promise(r => setTimeout(r, ms)).then(() => fetch0.apply(this, args));\n"
+            + "  };\n"
+            + "  const send0 = XMLHttpRequest.prototype.send;\n"
+            + "  XMLHttpRequest.prototype.send = function (...args) {\n"
+            + "    if (!hit()) return send0.apply(this, args);\n"
+            + "    setTimeout(() => send0.apply(this, args), ms);\n"
+            + "  };\n"
+            + "})();";
+    }
+    
+    private boolean isBidPost(Request request) {
+        return request.method().equals("POST") && request.url().toLowerCase().contains("bid");
+    }
+    
+    private boolean roll(double probability) {
+        return probability > 0 && ThreadLocalRandom.current().nextDouble() < probability;
+    }
+    
+    // Watches the DOM and, per element, removes the bid modal or renames the
+    // ids/classes the bot's selectors depend on
+    private String domFaultScript() {
+        return "(() => {\n"
+            + "  const dropModal = " + profile.dropModalProbability + ";\n"
+            + "  const rename = " + profile.renameSelectorsProbability + ";\n"
+            + "  const renamed = ['auctionTextarea-converted__textarea', 'styled__MakeBidButton-sc-18augvm-9',\n"
+            + "                   'styled__StyledButton-sc-6klmhm-0', 'orderA-converted__name'];\n"
+            + "  const fault = (el) => {\n"
+            + "    if (el.nodeType !== 1 || el.__botFaultRolled) return;\n"
+            + "    el.__botFaultRolled = true;\n"
+            + "    if (el.matches('div.ui-modal-content') && Math.random() < dropModal) { el.remove(); return; }\n"
+            + "    if (Math.random() >= rename) return;\n"
+            + "    if (el.id === 'showBidForm') el.id = 'showBidForm-renamed';\n"
+            + "    for (const cls of renamed) {\n"
+            + "      if (el.classList.contains(cls)) { el.classList.remove(cls); el.classList.add(cls + '-renamed'); }\n"
+            + "    }\n"
+            + "  };\n"
+            + "  new MutationObserver((mutations) => {\n"
+            + "    for (const m of mutations) for (const n of m.addedNodes) {\n"
+            + "      fault(n);\n"
+            + "      if (n.querySelectorAll) n.querySelectorAll('*').forEach(fault);\n"
+            + "    }\n"
+            + "  }).observe(document, { childList: true, subtree: true });\n"
+            + "})();";
+    }
+}
@@ -0,0 +1,94 @@
+package bot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Probabilities for each kind of fault the FaultInjector can simulate.
+// Specs look like "name:latency=0.3@800,dropModal=0.5,bid5xx=1,navStall=0.2@5000"
+// where "@n" sets the delay in ms for latency and navigation stalls.
+public class FaultProfile {
+    final String name;
+    final double latencyProbability;
+    final long latencyMs;
+    final double dropModalProbability;
+    final double renameSelectorsProbability;
+    final double bidPostFailureProbability;
+    final double navigationStallProbability;
+    final long navigationStallMs;
+    
+    FaultProfile(String name, double latencyProbability, long latencyMs, double dropModalProbability,
+                 double renameSelectorsProbability, double bidPostFailureProbability,
+                 double navigationStallProbability, long navigationStallMs) {
+        this.name = name;
+        this.latencyProbability = latencyProbability;
+        this.latencyMs = latencyMs;
+        this.dropModalProbability = dropModalProbability;
+        this.renameSelectorsProbability = renameSelectorsProbability;
+        this.bidPostFailureProbability = bidPostFailureProbability;
+        this.navigationStallProbability = navigationStallProbability;
+        this.navigationStallMs = navigationStallMs;
+    }
+    
+    // The profiles the harness runs when none are given on the command line
+    public static List<FaultProfile> builtIn() {
+        List<FaultProfile> profiles = new ArrayList<>();
+        profiles.add(parse("baseline:"));
+        profiles.add(parse("slow-network:latency=0.5@800"));
+        profiles.add(parse("flaky-modal:dropModal=0.5"));
+        profiles.add(parse("renamed-selectors:renameSelectors=1"));
+        profiles.add(parse("server-errors:bid5xx=0.5"));
+        profiles.add(parse("stalled-navigation:navStall=0.5@5000"));
+        profiles.add(parse("chaos:latency=0.2@500,dropModal=0.2,renameSelectors=0.2,bid5xx=0.2,navStall=0.2@3000"));
+        return profiles;
+    }
+    
+    public static FaultProfile parse(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon >= 0 ? spec.substring(0, colon) : spec;
+        String faults = colon >= 0 ? spec.substring(colon + 1) : "";
+        
+        double latency = 0, dropModal = 0, rename = 0, bid5xx = 0, navStall = 0;
+        long latencyMs = 500, stallMs = 5000;
+        for (String fault : faults.split(",")) {
+            if (fault.isBlank()) {
+                continue;
+            }
+            String[] keyValue = fault.trim().split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Bad fault '" + fault + "' in profile " + name);
+            }
+            String[] probabilityDelay = keyValue[1].split("@", 2);
+            double probability = Double.parseDouble(probabilityDelay[0]);
+            Long delay = probabilityDelay.length > 1 ? Long.parseLong(probabilityDelay[1]) : null;
+            switch (keyValue[0]) {
+                case "latency":
+                    latency = probability;
+                    latencyMs = delay != null ? delay : latencyMs;
+                    break;
+                case "dropModal":
+                    dropModal = probability;
+                    break;
+                case "renameSelectors":
+                    rename = probability;
+                    break;
+                case "bid5xx":
+                    bid5xx = probability;
+                    break;
+                case "navStall":
+                    navStall = probability;
+                    stallMs = delay != null ? delay : stallMs;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown fault '" + keyValue[0] + "' in profile " + name);
+            }
+        }
+        return new FaultProfile(name, latency, latencyMs, dropModal, rename, bid5xx, navStall, stallMs);
+    }
+    
+    @Override
+    public String toString() {
+        return name + " [latency=" + latencyProbability + "@" + latencyMs + "ms, dropModal=" + dropModalProbability
+            + ", renameSelectors=" + renameSelectorsProbability + ", bid5xx=" + bidPostFailureProbability
+            + ", navStall=" + navigationStallProbability + "@" + navigationStallMs + "ms]";
+    }
+}
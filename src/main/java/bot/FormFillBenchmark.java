@@ -0,0 +1,132 @@
+package bot;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Times the bid form fill against a local copy of the bid modal: the old
+// per-field sequence (selector cascade, click, fill, clear/fill, space +
+// backspace) versus BidderBot.FILL_FORM_SCRIPT in a single evaluate. The
+// modal mimics a framework-bound form whose submit button only enables once
+// the message field has fired an input event. Uses the default config
+// selectors. Local driver round trips are cheap, so the gap grows with a
+// remote browser (-Dbot.cdp setups).
+//
+//   java -cp bidder-bot.jar bot.FormFillBenchmark [iterations]   (default 200)
+public class FormFillBenchmark {
+    private static final String MODAL_HTML =
+        "<div class='ui-modal-content'>\n"
+        + "  <input type='number' name='bid_amount'>\n"
+        + "  <textarea class='auctionTextarea-converted__textarea'></textarea>\n"
+        + "  <button type='submit' disabled>Send Bid</button>\n"
+        + "</div>\n"
+        + "<script>\n"
+        + "  const area = document.querySelector('textarea');\n"
+        + "  const button = document.querySelector('button');\n"
+        + "  area.addEventListener('input', () => { button.disabled = area.value.trim().length === 0; });\n"
+        + "</script>";
+
+    private static final String RESET_SCRIPT =
+        "() => { document.querySelector('input').value = ''; document.querySelector('textarea').value = '';"
+        + " document.querySelector('button').disabled = true; }";
+
+    private static final String SUBMIT_ENABLED_SCRIPT = "() => !document.querySelector('button').disabled";
+
+    private static final String MESSAGE =
+        "Hi! I'm interested in working on this project. I have relevant experience and can deliver quality work on time.";
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        BotConfig config = BotConfig.defaults();
+
+        try (Playwright playwright = Playwright.create()) {
+            Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+            Page page = browser.newPage();
+            page.setContent(MODAL_HTML);
+
+            System.out.println("===== FORM FILL BENCHMARK (" + iterations + " iterations) =====");
+
+            // Warm-up rounds are discarded
+            for (int i = 0; i < 20; i++) {
+                page.evaluate(RESET_SCRIPT);
+                legacyFill(page, config);
+                page.evaluate(RESET_SCRIPT);
+                oneCallFill(page, config);
+            }
+
+            long[] legacy = new long[iterations];
+            long[] oneCall = new long[iterations];
+            int legacyEnabled = 0;
+            int oneCallEnabled = 0;
+            for (int i = 0; i < iterations; i++) {
+                page.evaluate(RESET_SCRIPT);
+                long start = System.nanoTime();
+                legacyFill(page, config);
+                legacy[i] = System.nanoTime() - start;
+                if (Boolean.TRUE.equals(page.evaluate(SUBMIT_ENABLED_SCRIPT))) {
+                    legacyEnabled++;
+                }
+
+                page.evaluate(RESET_SCRIPT);
+                start = System.nanoTime();
+                if (oneCallFill(page, config)) {
+                    oneCallEnabled++;
+                }
+                oneCall[i] = System.nanoTime() - start;
+            }
+
+            report("Per-field sequence", legacy, legacyEnabled);
+            report("Single evaluate", oneCall, oneCallEnabled);
+            browser.close();
+        }
+    }
+
+    // The sequence fillBidAmount() + fillBidMessage() drive, minus logging
+    private static void legacyFill(Page page, BotConfig config) {
+        Locator amount = firstMatch(page, config.amountSelectors);
+        if (amount != null) {
+            amount.click();
+            amount.fill(BidderBot.BID_AMOUNT);
+        }
+        Locator message = firstMatch(page, config.messageSelectors);
+        message.click();
+        message.fill("");
+        message.fill(MESSAGE);
+        message.pressSequentially(" ");
+        message.press("Backspace");
+    }
+
+    private static Locator firstMatch(Page page, List<String> selectors) {
+        for (String selector : selectors) {
+            Locator locator = page.locator(selector).first();
+            if (locator.count() > 0) {
+                return locator;
+            }
+        }
+        return null;
+    }
+
+    private static boolean oneCallFill(Page page, BotConfig config) {
+        Map<?, ?> result = (Map<?, ?>) page.evaluate(BidderBot.FILL_FORM_SCRIPT, Arrays.asList(config.modalSelector,
+            config.amountSelectors, config.messageSelectors, config.submitSelectors, BidderBot.BID_AMOUNT, MESSAGE));
+        return Boolean.TRUE.equals(result.get("submitEnabled"));
+    }
+
+    private static void report(String name, long[] nanos, int submitEnabled) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long n : sorted) {
+            total += n;
+        }
+        System.out.printf("%-20s mean %7.2f ms   p50 %7.2f ms   p99 %7.2f ms   submit enabled %d/%d%n", name,
+            total / 1e6 / sorted.length, sorted[sorted.length / 2] / 1e6,
+            sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1e6, submitEnabled, sorted.length);
+    }
+}
@@ -0,0 +1,112 @@
+package bot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Offline regression and performance harness. "record" captures a real
+// monitoring session into a HAR file; "replay" serves that file through
+// routeFromHAR while the normal monitorOrders() loop runs against it, so
+// two builds can be compared on identical traffic with no network access.
+//
+//   java -cp bidder-bot.jar bot.HarHarness record <har-file> <username> <password> [cycles]
+//   java -cp bidder-bot.jar bot.HarHarness replay <har-file> [cycles]
+public class HarHarness {
+    private static final int DEFAULT_CYCLES = 200;
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(1);
+        }
+        
+        String mode = args[0];
+        Path harPath = Path.of(args[1]);
+        
+        if (mode.equals("record") && args.length >= 4) {
+            int cycles = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_CYCLES;
+            record(harPath, args[2], args[3], cycles);
+        } else if (mode.equals("replay")) {
+            if (!Files.exists(harPath)) {
+                System.err.println("HAR file not found: " + harPath);
+                System.exit(1);
+            }
+            int cycles = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CYCLES;
+            replay(harPath, cycles);
+        } else {
+            printUsage();
+            System.exit(1);
+        }
+    }
+    
+    private static void record(Path harPath, String username, String password, int cycles) throws Exception {
+        // Detection only - a recording must never place real bids
+        BidderBot bot = new BidderBot(username, password, "DETECTION_ONLY", new ConsoleBotListener(true));
+        bot.recordHar(harPath);
+        bot.setCycleLimit(cycles);
+        try {
+            bot.start();
+        } finally {
+            bot.stop(); // Closing the context writes the HAR
+        }
+        System.out.println("📼 Recorded " + bot.getCycleCount() + " cycles to " + harPath);
+    }
+    
+    private static void replay(Path harPath, int cycles) throws Exception {
+        // Driver round trips are part of the report unless explicitly turned off
+        if (System.getProperty("bot.rpc") == null) {
+            System.setProperty("bot.rpc", "true");
+        }
+        BidderBot bot = new BidderBot("", "", "DETECTION_ONLY", new ConsoleBotListener(false));
+        bot.replayHar(harPath);
+        bot.setCycleLimit(cycles);
+        bot.setHeadless(true);
+        
+        long started = System.nanoTime();
+        try {
+            bot.start();
+        } finally {
+            bot.stop();
+        }
+        long wallMs = (System.nanoTime() - started) / 1_000_000;
+        
+        printReport(harPath, bot, wallMs);
+    }
+    
+    private static void printReport(Path harPath, BidderBot bot, long wallMs) {
+        BotStats stats = bot.getStats();
+        System.out.println("===== HAR REPLAY REPORT =====");
+        System.out.println("HAR file:          " + harPath);
+        System.out.println("Cycles:            " + bot.getCycleCount() + " (errors: " + stats.get("cycle.errors") + ")");
+        System.out.println("Cycle time:        " + stats.latency("cycle").summary());
+        System.out.println("Orders detected:   " + bot.getUniqueOrderCount() + " unique, "
+            + bot.getFoundOrders() + " container sightings");
+        
+        long totalRequests = 0;
+        StringBuilder byType = new StringBuilder();
+        for (Map.Entry<String, Long> entry : stats.snapshot().entrySet()) {
+            if (entry.getKey().startsWith("net.requests.")) {
+                totalRequests += entry.getValue();
+                byType.append("\n  ").append(entry.getKey().substring("net.requests.".length()))
+                    .append(": ").append(entry.getValue());
+            }
+        }
+        RpcMeter.Tally rpc = bot.getRpcTotal();
+        if (rpc != null) {
+            LatencyRecorder perCycle = stats.latency("rpc.cycle.calls"); // Samples are call counts, not ms
+            System.out.println("Driver RPCs:       " + rpc.calls() + " calls, " + rpc.millis() + "ms (per cycle p50="
+                + perCycle.percentileMs(50) + " p95=" + perCycle.percentileMs(95) + " max=" + perCycle.maxMs() + ")");
+        } else {
+            System.out.println("Driver RPCs:       not counted (-Dbot.rpc=false)");
+        }
+        // Browser traffic served from the HAR - not driver round trips
+        System.out.println("Browser requests:  " + totalRequests + byType);
+        System.out.println("Wall time:         " + wallMs + "ms");
+    }
+    
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  HarHarness record <har-file> <username> <password> [cycles]");
+        System.out.println("  HarHarness replay <har-file> [cycles]");
+    }
+}
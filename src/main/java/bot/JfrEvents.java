@@ -0,0 +1,144 @@
+package bot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Custom Flight Recorder events for each stage of the bot pipeline. They
+// cost next to nothing unless a recording has them enabled - see
+// BotFlightRecorder for the built-in continuous recording.
+public final class JfrEvents {
+    private JfrEvents() {
+    }
+    
+    @Name("bot.MonitorCycle")
+    @Label("Monitor Cycle")
+    @Category({"Bidder Bot", "Detection"})
+    @Description("One pass of the monitor loop: filter refresh, extraction, scroll and queued bids; retries run on their own thread")
+    @StackTrace(false)
+    public static class MonitorCycle extends Event {
+        @Label("Cycle")
+        public int cycle;
+        
+        @Label("Orders In Seen Set")
+        public int seenOrders;
+        
+        @Label("Driver Round Trips")
+        @Description("Playwright calls made during the cycle; -1 unless -Dbot.rpc is on")
+        public long rpcCalls = -1;
+        
+        @Label("DOM Nodes")
+        @Description("Elements across the search tabs; -1 on cycles without a DOM check")
+        public long domNodes = -1;
+    }
+    
+    @Name("bot.FilterClick")
+    @Label("Filter Click")
+    @Category({"Bidder Bot", "Detection"})
+    @StackTrace(false)
+    public static class FilterClick extends Event {
+        @Label("Clicked")
+        public boolean clicked;
+        
+        @Label("Response Time (ms)")
+        @Description("Click to matching search response; -1 if not awaited or timed out")
+        public long responseMs = -1;
+        
+        @Label("Coalesced")
+        @Description("Skipped because the previous refresh on this tab was still in flight")
+        public boolean coalesced;
+    }
+    
+    @Name("bot.OrderExtraction")
+    @Label("Order Extraction")
+    @Category({"Bidder Bot", "Detection"})
+    @Description("Scrape of the order containers currently in the DOM")
+    @StackTrace(false)
+    public static class OrderExtraction extends Event {
+        @Label("Scan Tier")
+        public String tier;
+        
+        @Label("Containers")
+        public int containers;
+        
+        @Label("New Orders")
+        public int newOrders;
+    }
+    
+    @Name("bot.Dedupe")
+    @Label("Dedupe Check")
+    @Category({"Bidder Bot", "Detection"})
+    @StackTrace(false)
+    public static class Dedupe extends Event {
+        @Label("Order Key")
+        public String orderKey;
+        
+        @Label("Already Seen")
+        public boolean duplicate;
+    }
+    
+    @Name("bot.BidStrategy")
+    @Label("Bid Strategy")
+    @Category({"Bidder Bot", "Bidding"})
+    @StackTrace(false)
+    public static class BidStrategy extends Event {
+        @Label("Order Key")
+        public String orderKey;
+        
+        @Label("Strategy")
+        public String strategy;
+        
+        @Label("Success")
+        public boolean success;
+        
+        @Label("Failure Class")
+        public String failureClass;
+    }
+    
+    @Name("bot.BidStep")
+    @Label("Bid Step")
+    @Category({"Bidder Bot", "Bidding"})
+    @Description("A sub-step of a bid strategy such as modal wait, amount fill or submit")
+    @StackTrace(false)
+    public static class BidStep extends Event {
+        @Label("Order Key")
+        public String orderKey;
+        
+        @Label("Step")
+        public String step;
+        
+        @Label("Selector")
+        public String selector;
+        
+        @Label("Success")
+        public boolean success;
+    }
+    
+    @Name("bot.SessionCheck")
+    @Label("Session Check")
+    @Category({"Bidder Bot", "Session"})
+    @StackTrace(false)
+    public static class SessionCheck extends Event {
+        @Label("URL")
+        public String url;
+        
+        @Label("Logged In")
+        public boolean loggedIn;
+    }
+    
+    @Name("bot.LogFlush")
+    @Label("EDT Log Flush")
+    @Category({"Bidder Bot", "GUI"})
+    @Description("Appending one message to the Swing log area on the event dispatch thread")
+    @StackTrace(false)
+    public static class LogFlush extends Event {
+        @Label("Message Length")
+        public int messageLength;
+        
+        @Label("Log Lines")
+        public int logLines;
+    }
+}
@@ -0,0 +1,52 @@
+package bot;
+
+import java.util.Arrays;
+
+// Keeps the most recent latency samples for percentile reporting, plus
+// running totals over everything ever recorded
+public class LatencyRecorder {
+    private static final int WINDOW = 4096;
+    
+    private final long[] samples = new long[WINDOW];
+    private int next = 0;
+    private long count = 0;
+    private long totalMs = 0;
+    private long maxMs = 0;
+    
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % WINDOW;
+        count++;
+        totalMs += millis;
+        maxMs = Math.max(maxMs, millis);
+    }
+    
+    public synchronized long count() {
+        return count;
+    }
+    
+    public synchronized long maxMs() {
+        return maxMs;
+    }
+    
+    public synchronized long averageMs() {
+        return count == 0 ? 0 : totalMs / count;
+    }
+    
+    // Percentile (0-100) over the sample window
+    public synchronized long percentileMs(double percentile) {
+        int size = (int) Math.min(count, WINDOW);
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))];
+    }
+    
+    public String summary() {
+        return "n=" + count() + " avg=" + averageMs() + "ms p50=" + percentileMs(50)
+            + "ms p95=" + percentileMs(95) + "ms p99=" + percentileMs(99) + "ms max=" + maxMs() + "ms";
+    }
+}
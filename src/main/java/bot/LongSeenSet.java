@@ -0,0 +1,107 @@
+package bot;
+
+// Seen-order set keyed by primitive order ids, with expiry. Two parallel
+// long arrays (id, expiry time) in an open-addressed, linearly probed table:
+// 16 bytes per slot instead of a String plus a HashMap node per order.
+// Expired entries read as absent and are dropped when the table is rebuilt,
+// so memory tracks the orders seen within the TTL, not the whole run.
+//
+// Synchronized for the few reads from other threads (GUI, control API);
+// the monitor thread is the only writer, so the lock is uncontended.
+public class LongSeenSet {
+    private static final int MIN_CAPACITY = 1024;
+
+    private long ttlMs;
+    private long[] ids;
+    private long[] expiresAt;
+    private int used; // Occupied slots, live or expired
+
+    public LongSeenSet(long ttlMs) {
+        this(ttlMs, MIN_CAPACITY);
+    }
+
+    public LongSeenSet(long ttlMs, int expectedSize) {
+        this.ttlMs = ttlMs;
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, MIN_CAPACITY - 1)) << 1;
+        ids = new long[capacity];
+        expiresAt = new long[capacity];
+    }
+
+    public synchronized void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    // Marks the id seen; returns false if it was already seen and not expired
+    public synchronized boolean add(long id, long nowMs) {
+        int mask = ids.length - 1;
+        for (int i = OrderKeys.mix(id) & mask; ; i = (i + 1) & mask) {
+            long current = ids[i];
+            if (current == 0) {
+                ids[i] = id;
+                expiresAt[i] = nowMs + ttlMs;
+                if (++used * 2 > ids.length) {
+                    rebuild(nowMs);
+                }
+                return true;
+            }
+            if (current == id) {
+                if (expiresAt[i] > nowMs) {
+                    return false;
+                }
+                expiresAt[i] = nowMs + ttlMs; // Expired - counts as new again
+                return true;
+            }
+        }
+    }
+
+    public synchronized boolean contains(long id, long nowMs) {
+        int mask = ids.length - 1;
+        for (int i = OrderKeys.mix(id) & mask; ; i = (i + 1) & mask) {
+            long current = ids[i];
+            if (current == 0) {
+                return false;
+            }
+            if (current == id) {
+                return expiresAt[i] > nowMs;
+            }
+        }
+    }
+
+    // Entries held, including expired ones not yet dropped by a rebuild
+    public synchronized int size() {
+        return used;
+    }
+
+    // Drops expired entries, and doubles the table if it is still half full.
+    // Rebuilding instead of deleting in place keeps probe chains intact
+    // without tombstones.
+    private void rebuild(long nowMs) {
+        long[] oldIds = ids;
+        long[] oldExpiry = expiresAt;
+        int live = 0;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0 && oldExpiry[i] > nowMs) {
+                live++;
+            }
+        }
+        int capacity = oldIds.length;
+        while (live * 4 > capacity) {
+            capacity <<= 1; // Leave room so the next rebuild isn't immediate
+        }
+        ids = new long[capacity];
+        expiresAt = new long[capacity];
+        used = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0 && oldExpiry[i] > nowMs) {
+                int slot = OrderKeys.mix(oldIds[i]) & mask;
+                while (ids[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[i];
+                expiresAt[slot] = oldExpiry[i];
+                used++;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package bot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Reads the daily order history files written by OrderHistoryStore and
+// prints what scan cadence decisions need: arrivals per hour of day, the
+// inter-arrival distribution per hour, busiest categories, and how quickly
+// bid counts climb after an order appears.
+//
+//   java -cp bidder-bot.jar bot.OrderHistoryQuery [history-dir] [days]
+//   (defaults: "history", every file in the directory)
+public class OrderHistoryQuery {
+    private static final int[] BID_MILESTONES = {1, 5, 10};
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "history");
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        if (!Files.isDirectory(dir)) {
+            System.err.println("No history directory: " + dir);
+            System.exit(1);
+        }
+
+        List<Path> files = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int back = 0; back < Math.min(days, 3650); back++) {
+            Path file = OrderHistoryStore.fileFor(dir, today.minusDays(back));
+            if (Files.exists(file)) {
+                files.add(0, file);
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("No history files in " + dir);
+            System.exit(1);
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        List<long[]> arrivals = new ArrayList<>();           // {epochMs, hour}
+        Map<String, Long> firstSeen = new HashMap<>();
+        Map<String, Integer> categories = new TreeMap<>();
+        Map<Integer, List<Long>> milestoneDelays = new TreeMap<>();
+        List<Integer> bidsAtArrival = new ArrayList<>();
+        Map<String, Integer> reachedMilestone = new HashMap<>();
+        for (int milestone : BID_MILESTONES) {
+            milestoneDelays.put(milestone, new ArrayList<>());
+        }
+
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] cols = line.split("\t", -1);
+                    if (cols.length < 7) {
+                        continue;
+                    }
+                    long atMs = Long.parseLong(cols[0]);
+                    String key = cols[1];
+                    int bids = Integer.parseInt(cols[3]);
+                    if (cols[2].equals("new") && !firstSeen.containsKey(key)) {
+                        firstSeen.put(key, atMs);
+                        arrivals.add(new long[] {atMs, Instant.ofEpochMilli(atMs).atZone(zone).getHour()});
+                        categories.merge(cols[5].isEmpty() ? "(none)" : cols[5], 1, Integer::sum);
+                        if (bids >= 0) {
+                            bidsAtArrival.add(bids);
+                        }
+                    }
+                    Long first = firstSeen.get(key);
+                    if (first == null || bids < 0) {
+                        continue; // First sighting was before the files we read
+                    }
+                    int reached = reachedMilestone.getOrDefault(key, 0);
+                    for (int milestone : BID_MILESTONES) {
+                        if (milestone > reached && bids >= milestone) {
+                            milestoneDelays.get(milestone).add(atMs - first);
+                            reached = milestone;
+                        }
+                    }
+                    reachedMilestone.put(key, reached);
+                }
+            }
+        }
+
+        int dayCount = files.size();
+        System.out.println("===== ORDER HISTORY (" + files.get(0).getFileName() + " .. "
+            + files.get(files.size() - 1).getFileName() + ", " + dayCount + " day(s)) =====");
+        System.out.println("Orders: " + arrivals.size());
+        System.out.println();
+
+        // Inter-arrival gaps, attributed to the hour of the later arrival
+        arrivals.sort((a, b) -> Long.compare(a[0], b[0]));
+        Map<Integer, List<Long>> gapsByHour = new TreeMap<>();
+        Map<Integer, Integer> countByHour = new TreeMap<>();
+        for (int i = 0; i < arrivals.size(); i++) {
+            int hour = (int) arrivals.get(i)[1];
+            countByHour.merge(hour, 1, Integer::sum);
+            if (i > 0) {
+                gapsByHour.computeIfAbsent(hour, h -> new ArrayList<>()).add(arrivals.get(i)[0] - arrivals.get(i - 1)[0]);
+            }
+        }
+        System.out.println("Hour  Orders  Per day  Gap p50   Gap p90   Gap max");
+        for (int hour = 0; hour < 24; hour++) {
+            int count = countByHour.getOrDefault(hour, 0);
+            List<Long> gaps = gapsByHour.getOrDefault(hour, Collections.emptyList());
+            System.out.printf("%02d    %6d  %7.1f  %-8s  %-8s  %-8s%n", hour, count, (double) count / dayCount,
+                seconds(percentile(gaps, 50)), seconds(percentile(gaps, 90)), seconds(percentile(gaps, 100)));
+        }
+        System.out.println();
+
+        System.out.println("Top categories:");
+        categories.entrySet().stream()
+            .sorted((a, b) -> b.getValue() - a.getValue())
+            .limit(10)
+            .forEach(e -> System.out.printf("  %6d  %s%n", e.getValue(), e.getKey()));
+        System.out.println();
+
+        System.out.println("Bid count growth (time from first sighting):");
+        System.out.println("  bids at first sighting: p50 " + percentileInt(bidsAtArrival, 50)
+            + ", p90 " + percentileInt(bidsAtArrival, 90));
+        for (Map.Entry<Integer, List<Long>> entry : milestoneDelays.entrySet()) {
+            List<Long> delays = entry.getValue();
+            System.out.printf("  reached %2d bids: %5d orders, p50 %s, p90 %s%n", entry.getKey(), delays.size(),
+                seconds(percentile(delays, 50)), seconds(percentile(delays, 90)));
+        }
+    }
+
+    private static long percentile(List<Long> values, int p) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static String percentileInt(List<Integer> values, int p) {
+        List<Long> longs = new ArrayList<>();
+        for (int value : values) {
+            longs.add((long) value);
+        }
+        long result = percentile(longs, p);
+        return result < 0 ? "-" : String.valueOf(result);
+    }
+
+    private static String seconds(long ms) {
+        return ms < 0 ? "-" : String.format("%.1fs", ms / 1000.0);
+    }
+}
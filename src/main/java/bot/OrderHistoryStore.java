@@ -0,0 +1,114 @@
+package bot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Append-only log of order sightings, one tab-separated file per day
+// (history/orders-2024-05-01.tsv). A row is written the first time an order
+// is seen and again whenever its bid count changes, so the files show both
+// arrival times and how fast competition builds up without a row per order
+// per cycle. Read back with OrderHistoryQuery.
+//
+//   epochMs  key  event(new|bids)  bidCount  budget  category  title
+//
+// Enable with -Dbot.history=true; -Dbot.history.dir (default "history").
+public class OrderHistoryStore {
+    private static final int TRACKED_ORDERS = 20_000; // Last bid count kept per recent order
+
+    private final Path dir;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, Integer> lastBidCounts = new LinkedHashMap<String, Integer>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > TRACKED_ORDERS;
+        }
+    };
+    private BufferedWriter writer;
+    private LocalDate writerDay;
+
+    public OrderHistoryStore(Path dir) {
+        this.dir = dir;
+    }
+
+    // Returns null unless enabled through system properties
+    public static OrderHistoryStore fromSystemProperties(BotListener app) {
+        if (!Boolean.getBoolean("bot.history")) {
+            return null;
+        }
+        Path dir = Path.of(System.getProperty("bot.history.dir", "history"));
+        app.logMessage("🗃️ Recording order history to " + dir);
+        return new OrderHistoryStore(dir);
+    }
+
+    static Path fileFor(Path dir, LocalDate day) {
+        return dir.resolve("orders-" + day + ".tsv");
+    }
+
+    // Writes a row if the order is new or its bid count moved
+    public synchronized void record(long atMs, String orderKey, String title, String category, int bidCount, String budget) throws IOException {
+        Integer previous = lastBidCounts.put(orderKey, bidCount);
+        if (previous != null && previous == bidCount) {
+            return;
+        }
+        LocalDate day = Instant.ofEpochMilli(atMs).atZone(zone).toLocalDate();
+        if (!day.equals(writerDay)) {
+            rollOver(day);
+        }
+        writer.write(atMs + "\t" + clean(orderKey) + "\t" + (previous == null ? "new" : "bids") + "\t" + bidCount
+            + "\t" + clean(budget) + "\t" + clean(category) + "\t" + clean(title));
+        writer.newLine();
+    }
+
+    // Called once per cycle so rows hit the disk without a write per order
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            writerDay = null;
+        }
+    }
+
+    private void rollOver(LocalDate day) throws IOException {
+        close();
+        Files.createDirectories(dir);
+        writer = Files.newBufferedWriter(fileFor(dir, day), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writerDay = day;
+    }
+
+    // First number in a label like "12 bids"; -1 when there is none
+    static int parseCount(String text) {
+        if (text == null) {
+            return -1;
+        }
+        int value = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            } else if (value >= 0) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ').trim();
+    }
+}
@@ -0,0 +1,86 @@
+package bot;
+
+// Order key parsing without split() or regex - runs once per container per
+// cycle, so it stays a single index scan over the URL
+final class OrderKeys {
+    private static final String ORDER_PATH = "/order/";
+
+    private OrderKeys() {
+    }
+
+    // The numeric order id after "/order/" ("/order/getoneorder/123?x" -> "123").
+    // URLs without digits keep the old behaviour: the first path segment after
+    // "/order/", or the whole URL when there is no "/order/" at all.
+    static String extractKey(String url) {
+        int start = url.indexOf(ORDER_PATH);
+        if (start < 0) {
+            return url;
+        }
+        start += ORDER_PATH.length();
+        int end = url.length();
+        for (int i = start; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            if (isDigit(url.charAt(i))) {
+                int digitsEnd = i;
+                while (digitsEnd < end && isDigit(url.charAt(digitsEnd))) {
+                    digitsEnd++;
+                }
+                return url.substring(i, digitsEnd);
+            }
+        }
+        int slash = url.indexOf('/', start);
+        return url.substring(start, slash >= 0 && slash < end ? slash : end);
+    }
+
+    // True for a non-empty all-digit key - safe to put into a selector as-is
+    static boolean isNumeric(String orderKey) {
+        if (orderKey.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < orderKey.length(); i++) {
+            if (!isDigit(orderKey.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit id for a key: numeric keys are used as-is, anything else is
+    // hashed (FNV-1a). Never 0, which the primitive tables use for "empty".
+    static long toId(String orderKey) {
+        long id = 0;
+        boolean numeric = !orderKey.isEmpty() && orderKey.length() < 19;
+        for (int i = 0; numeric && i < orderKey.length(); i++) {
+            char c = orderKey.charAt(i);
+            if (isDigit(c)) {
+                id = id * 10 + (c - '0');
+            } else {
+                numeric = false;
+            }
+        }
+        if (!numeric) {
+            id = 0xcbf29ce484222325L;
+            for (int i = 0; i < orderKey.length(); i++) {
+                id ^= orderKey.charAt(i);
+                id *= 0x100000001b3L;
+            }
+        }
+        return id == 0 ? 1 : id;
+    }
+
+    // Spreads sequential ids across a power-of-two table
+    static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,21 @@
+package bot;
+
+// A way of finding new orders. Every source is polled once per monitor
+// cycle on the monitor thread, so it may drive Playwright pages it opened
+// itself; bids for what it found go out right after it returns. The bot's
+// own search-page scan and WebSocket push are sources too.
+//
+// Register with BidderBot.addOrderSource() before start(), or list the
+// class in META-INF/services/bot.OrderSource (public no-arg constructor).
+public interface OrderSource {
+    String name();
+
+    // Reports each sighting to the sink; returns how many were new
+    int poll(OrderSink sink) throws Exception;
+
+    // Dedupes against every other source and queues the bid
+    interface OrderSink {
+        // True if no source had seen the order before
+        boolean offer(String orderKey, String orderUrl, String title);
+    }
+}
@@ -0,0 +1,233 @@
+package bot;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Counts Playwright driver round trips. Pages are wrapped in a dynamic proxy
+// (and every Locator made from them), so each Page/Locator call that goes
+// to the browser is timed and attributed to its call type (Locator.count)
+// and the bot line that made it (BidderBot.fillBidAmount:1342). Totals go
+// to BotStats (rpc.type.* / rpc.site.*, calls plus .us); per-cycle and
+// per-bid scopes report how many round trips each one took.
+//
+// Locator construction (locator, first, nth, ...) and listener registration
+// are local in Playwright and aren't counted. Enable with -Dbot.rpc=true;
+// without it pages are used unwrapped.
+public class RpcMeter {
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList(
+        "locator", "first", "last", "nth", "filter", "and", "or", "page", "context", "url", "isClosed",
+        "getByText", "getByRole", "getByLabel", "getByPlaceholder", "getByTestId", "getByTitle", "getByAltText",
+        "frameLocator", "contentFrame", "setDefaultTimeout", "setDefaultNavigationTimeout"));
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // Calls and time, in total and by call type and site
+    public static class Tally {
+        private long calls;
+        private long nanos;
+        private final Map<String, long[]> bySite = new HashMap<>();
+
+        synchronized void add(String site, long elapsed) {
+            calls++;
+            nanos += elapsed;
+            long[] entry = bySite.computeIfAbsent(site, s -> new long[2]);
+            entry[0]++;
+            entry[1] += elapsed;
+        }
+
+        public synchronized long calls() {
+            return calls;
+        }
+
+        public synchronized long millis() {
+            return nanos / 1_000_000;
+        }
+
+        // "site x calls/ms" for the sites with the most time, slowest first
+        public synchronized String top(int n) {
+            List<Map.Entry<String, long[]>> entries = new ArrayList<>(bySite.entrySet());
+            entries.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < Math.min(n, entries.size()); i++) {
+                long[] entry = entries.get(i).getValue();
+                sb.append(i == 0 ? "" : ", ").append(entries.get(i).getKey())
+                    .append(" ").append(entry[0]).append("x/").append(entry[1] / 1_000_000).append("ms");
+            }
+            return sb.toString();
+        }
+    }
+
+    private final BotStats stats;
+    private final Map<Object, Page> pages = new IdentityHashMap<>(); // Open pages only - dropped on close
+    private final Tally total = new Tally();
+    private Tally cycle;
+    private Tally bid;
+
+    public RpcMeter(BotStats stats) {
+        this.stats = stats;
+    }
+
+    // Returns null unless enabled through system properties
+    public static RpcMeter fromSystemProperties(BotStats stats, BotListener app) {
+        if (!Boolean.getBoolean("bot.rpc")) {
+            return null;
+        }
+        app.logMessage("🔌 Counting Playwright round trips per cycle and per bid");
+        return new RpcMeter(stats);
+    }
+
+    // Same proxy for the same page, so identity checks between tabs still work.
+    // Failover, recycling and standby rebuilds close tabs throughout a run,
+    // so a closed page's entry goes with it
+    public synchronized Page wrap(Page page) {
+        if (page == null || unwrap(page) != page) {
+            return page;
+        }
+        Page wrapped = pages.get(page);
+        if (wrapped == null) {
+            wrapped = proxy(Page.class, page);
+            pages.put(page, wrapped);
+            page.onClose(closed -> forget(page));
+        }
+        return wrapped;
+    }
+
+    private synchronized void forget(Page page) {
+        pages.remove(page);
+    }
+
+    public void beginCycle() {
+        cycle = new Tally();
+    }
+
+    // Closes the cycle scope and records its round trips
+    public Tally endCycle() {
+        Tally finished = cycle;
+        cycle = null;
+        if (finished != null) {
+            stats.recordLatency("rpc.cycle.calls", finished.calls());
+            stats.recordLatency("rpc.cycle.ms", finished.millis());
+        }
+        return finished;
+    }
+
+    public void beginBid() {
+        bid = new Tally();
+    }
+
+    public Tally endBid() {
+        Tally finished = bid;
+        bid = null;
+        if (finished != null) {
+            stats.recordLatency("rpc.bid.calls", finished.calls());
+            stats.recordLatency("rpc.bid.ms", finished.millis());
+        }
+        return finished;
+    }
+
+    public Tally total() {
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, Object target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new Handler(target));
+    }
+
+    private class Handler implements InvocationHandler {
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if (method.getName().equals("equals")) {
+                    return target.equals(unwrap(args[0]));
+                }
+                return method.invoke(target, args);
+            }
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = unwrap(args[i]);
+                }
+            }
+            String name = method.getName();
+            boolean remote = !LOCAL_METHODS.contains(name) && !name.startsWith("on") && !name.startsWith("off");
+            long start = remote ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (remote) {
+                    record(method.getDeclaringClass().getSimpleName() + "." + name, System.nanoTime() - start);
+                }
+            }
+            if (result instanceof Locator) {
+                return proxy(Locator.class, result);
+            }
+            if (result instanceof Page) {
+                return wrap((Page) result);
+            }
+            if (result instanceof List && !((List<?>) result).isEmpty() && ((List<?>) result).get(0) instanceof Locator) {
+                List<Locator> locators = new ArrayList<>(); // Locator.all()
+                for (Object locator : (List<?>) result) {
+                    locators.add(proxy(Locator.class, locator));
+                }
+                return locators;
+            }
+            return result;
+        }
+    }
+
+    private static Object unwrap(Object arg) {
+        if (arg != null && Proxy.isProxyClass(arg.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(arg);
+            if (handler instanceof Handler) {
+                return ((Handler) handler).target;
+            }
+        }
+        return arg;
+    }
+
+    private void record(String type, long elapsed) {
+        String site = callSite();
+        long micros = elapsed / 1000;
+        stats.increment("rpc.type." + type);
+        stats.add("rpc.type." + type + ".us", micros);
+        stats.increment("rpc.site." + site);
+        stats.add("rpc.site." + site + ".us", micros);
+        total.add(site, elapsed);
+        if (cycle != null) {
+            cycle.add(site, elapsed);
+        }
+        if (bid != null) {
+            bid.add(site, elapsed);
+        }
+    }
+
+    // First bot frame outside this class: "BidderBot.fillBidAmount:1342"
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith("bot.") && !f.getClassName().startsWith(RpcMeter.class.getName()))
+            .findFirst()
+            .map(f -> f.getClassName().substring(4) + "." + f.getMethodName() + ":" + f.getLineNumber())
+            .orElse("unknown"));
+    }
+}
@@ -0,0 +1,64 @@
+package bot;
+
+import com.microsoft.playwright.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One monitoring tab that scans a slice of the search space - the search
+// URL plus a filter query (subject category, price band...). All shards live
+// in the same context and feed the bot's shared dedupe set and bid queue.
+class ScanShard {
+    // Hot standby (-Dbot.standby): a second tab on the same search, loaded and idle
+    enum Standby { NONE, LOADING, READY, REBUILD }
+
+    final String name;
+    final String searchUrl;
+    Page page;
+    Page standby;
+    Standby standbyState = Standby.NONE;
+    long standbySinceMs;
+
+    ScanShard(String name, String searchUrl, Page page) {
+        this.name = name;
+        this.searchUrl = searchUrl;
+        this.page = page;
+    }
+
+    // The standby tab becomes the active one; the failed tab takes its place
+    // and waits to be rebuilt
+    void failOver() {
+        Page failed = page;
+        page = standby;
+        standby = failed;
+        standbyState = Standby.REBUILD;
+        standbySinceMs = System.currentTimeMillis();
+    }
+
+    // "category=12;category=14&price=50-100" -> one filter query per shard
+    static List<String> parseFilters(String spec) {
+        List<String> filters = new ArrayList<>();
+        if (spec == null) {
+            return filters;
+        }
+        for (String part : spec.split(";")) {
+            String filter = part.trim();
+            if (filter.startsWith("?")) {
+                filter = filter.substring(1);
+            }
+            if (!filter.isEmpty()) {
+                filters.add(filter);
+            }
+        }
+        return filters;
+    }
+
+    static String urlFor(String baseSearchUrl, String filter) {
+        return baseSearchUrl + (baseSearchUrl.contains("?") ? "&" : "?") + filter;
+    }
+
+    @Override
+    public String toString() {
+        return name + " -> " + searchUrl;
+    }
+}
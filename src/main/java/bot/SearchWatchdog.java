@@ -0,0 +1,71 @@
+package bot;
+
+// Watches the monitor thread from outside for a shard scan that has stopped
+// making progress. Playwright objects belong to the monitor thread, so the
+// watchdog never touches a page: it flags the stuck shard, and the monitor
+// thread switches that shard to its standby tab as soon as the blocked call
+// returns. With standby on, search tabs use the stall time as their call
+// timeout, so that happens at most one stall period later instead of after
+// the 60s navigation timeout.
+class SearchWatchdog {
+    private final BotStats stats;
+    private final BotListener app;
+    private final Thread thread;
+    private volatile long stallMs;
+    private volatile boolean running = true;
+    private volatile String activeShard;
+    private volatile long scanStartedNanos;
+    private volatile String stalledShard;
+
+    SearchWatchdog(long stallMs, BotStats stats, BotListener app) {
+        this.stallMs = stallMs;
+        this.stats = stats;
+        this.app = app;
+        thread = new Thread(this::watch, "search-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void setStallMs(long stallMs) {
+        this.stallMs = stallMs;
+    }
+
+    void scanStarted(String shard) {
+        activeShard = shard;
+        scanStartedNanos = System.nanoTime();
+    }
+
+    void scanFinished() {
+        scanStartedNanos = 0;
+    }
+
+    // True once per stall of the given shard
+    boolean takeStall(String shard) {
+        if (shard.equals(stalledShard)) {
+            stalledShard = null;
+            return true;
+        }
+        return false;
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                Thread.sleep(Math.max(50, stallMs / 4));
+            } catch (InterruptedException e) {
+                return;
+            }
+            long started = scanStartedNanos;
+            if (started != 0 && stalledShard == null && (System.nanoTime() - started) / 1_000_000 > stallMs) {
+                stalledShard = activeShard;
+                stats.increment("standby.stalls");
+                app.logMessage("🐕 Shard " + activeShard + " stuck for over " + stallMs + "ms - failing over when the call returns");
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+}
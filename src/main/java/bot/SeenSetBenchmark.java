@@ -0,0 +1,96 @@
+package bot;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Compares the seen-order set before and after the switch to primitive ids:
+// HashSet<String> fed by the old split()/regex key extraction versus
+// LongSeenSet fed by OrderKeys. Reports retained heap and per-operation cost.
+// A plain main rather than JMH so it runs from the shaded jar with no extra
+// build setup; warm-up rounds are discarded.
+//
+//   java -Xmx2g -cp bidder-bot.jar bot.SeenSetBenchmark [keys]   (default 1000000)
+public class SeenSetBenchmark {
+    private static final int ROUNDS = 5;
+    private static volatile long sink; // Keeps results live so the JIT can't drop the work
+    
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] urls = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            urls[i] = "https://studybay.com/order/" + (40_000_000 + i * 7) + "/?from=search";
+        }
+        
+        System.out.println("===== SEEN-SET BENCHMARK (" + keys + " keys) =====");
+        
+        long before = usedHeap();
+        Set<String> stringSet = new HashSet<>();
+        for (String url : urls) {
+            stringSet.add(legacyKey(url));
+        }
+        long stringBytes = usedHeap() - before;
+        
+        before = usedHeap();
+        LongSeenSet longSet = new LongSeenSet(24 * 60 * 60_000L);
+        long now = System.currentTimeMillis();
+        for (String url : urls) {
+            longSet.add(OrderKeys.toId(OrderKeys.extractKey(url)), now);
+        }
+        long longBytes = usedHeap() - before;
+        
+        System.out.printf("Retained heap:      HashSet<String> %,d bytes (%.1f/key)   LongSeenSet %,d bytes (%.1f/key)%n",
+            stringBytes, (double) stringBytes / keys, longBytes, (double) longBytes / keys);
+        
+        double legacyParse = 0, newParse = 0, stringHit = 0, longHit = 0;
+        for (int round = 0; round < ROUNDS + 1; round++) {
+            long t0 = System.nanoTime();
+            long acc = 0;
+            for (String url : urls) {
+                acc += legacyKey(url).length();
+            }
+            long t1 = System.nanoTime();
+            for (String url : urls) {
+                acc += OrderKeys.toId(OrderKeys.extractKey(url));
+            }
+            long t2 = System.nanoTime();
+            for (String url : urls) {
+                acc += stringSet.contains(legacyKey(url)) ? 1 : 0;
+            }
+            long t3 = System.nanoTime();
+            for (String url : urls) {
+                acc += longSet.contains(OrderKeys.toId(OrderKeys.extractKey(url)), now) ? 1 : 0;
+            }
+            long t4 = System.nanoTime();
+            sink = acc;
+            if (round > 0) { // Round 0 is warm-up
+                legacyParse += (double) (t1 - t0) / keys / ROUNDS;
+                newParse += (double) (t2 - t1) / keys / ROUNDS;
+                stringHit += (double) (t3 - t2) / keys / ROUNDS;
+                longHit += (double) (t4 - t3) / keys / ROUNDS;
+            }
+        }
+        
+        System.out.printf("Key extraction:     split/regex %.1f ns   OrderKeys %.1f ns%n", legacyParse, newParse);
+        System.out.printf("Parse + lookup:     HashSet<String> %.1f ns   LongSeenSet %.1f ns%n", stringHit, longHit);
+        System.out.println("Entries:            " + stringSet.size() + " / " + longSet.size());
+    }
+    
+    // The extraction BidderBot used before OrderKeys
+    private static String legacyKey(String url) {
+        if (url.contains("/order/")) {
+            String[] parts = url.split("/order/");
+            if (parts.length > 1) {
+                return parts[1].split("[/?]")[0];
+            }
+        }
+        return url;
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,117 @@
+package bot;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Order-claim table shared by every bot process on the machine through one
+// memory-mapped file. Each slot is a 64-bit order id (OrderKeys.toId) in an
+// open-addressed hash table; claiming is a compare-and-set of an empty slot,
+// so exactly one process wins each order and nobody takes a lock. Readers
+// only do volatile loads. The file lock is held just while the file is
+// created and sized.
+//
+// Slots are never freed - at 8 bytes per order the default 2^18 slots cover
+// a couple of hundred thousand orders. Delete the file to start over.
+public class SharedOrderTable implements AutoCloseable {
+    private static final long MAGIC = 0x4249444445525442L; // "BIDDERTB"
+    private static final int HEADER_BYTES = 64;            // magic, capacity, padding
+    private static final int MAX_PROBES = 64;
+    private static final VarHandle SLOT =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int mask;
+
+    public enum Claim { CLAIMED, TAKEN, FULL }
+
+    private SharedOrderTable(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.mask = capacity - 1;
+    }
+
+    // Opens (or creates) the table; capacity is rounded up to a power of two.
+    // An existing file keeps the capacity it was created with.
+    public static SharedOrderTable open(Path file, int capacity) throws IOException {
+        int slots = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock lock = null;
+        try {
+            lock = channel.lock();
+            if (channel.size() == 0) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * 8);
+                header.order(ByteOrder.nativeOrder());
+                header.putLong(8, slots);
+                header.putLong(0, MAGIC);
+                header.force();
+            }
+            MappedByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            probe.order(ByteOrder.nativeOrder());
+            if (probe.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not an order table");
+            }
+            slots = (int) probe.getLong(8);
+        } catch (IOException | RuntimeException e) {
+            channel.close(); // Releases the lock too
+            throw e;
+        } finally {
+            if (lock != null && lock.isValid()) {
+                lock.release();
+            }
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * 8);
+        return new SharedOrderTable(channel, buffer, slots);
+    }
+
+    // CLAIMED if this process is the first to see the order, TAKEN if any
+    // process (including this one) already claimed it, FULL if no free slot
+    // was found within MAX_PROBES - callers then fall back to local dedupe
+    public Claim claim(long id) {
+        int index = OrderKeys.mix(id) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = HEADER_BYTES + ((index + probe) & mask) * 8;
+            long current = (long) SLOT.getVolatile(buffer, offset);
+            if (current == id) {
+                return Claim.TAKEN;
+            }
+            if (current == 0) {
+                if (SLOT.compareAndSet(buffer, offset, 0L, id)) {
+                    return Claim.CLAIMED;
+                }
+                // Lost the race for this slot - it may have been our order
+                if ((long) SLOT.getVolatile(buffer, offset) == id) {
+                    return Claim.TAKEN;
+                }
+            }
+        }
+        return Claim.FULL;
+    }
+
+    public boolean contains(long id) {
+        int index = OrderKeys.mix(id) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = (long) SLOT.getVolatile(buffer, HEADER_BYTES + ((index + probe) & mask) * 8);
+            if (current == id) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,347 @@
+package bot;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Serves the site's immutable static assets (JS bundles, CSS, fonts, images)
+// from disk through a context route, so navigating to an order page and back
+// costs the HTML and API calls only - also right after a context rebuild,
+// when the browser's own HTTP cache is empty.
+//
+// Bodies are stored content-addressed (objects/<sha256>), so the same bundle
+// under two URLs is kept once; index.tsv maps URL -> hash, content type and
+// the response headers, which hits replay (CORS, timing-allow-origin and vary
+// matter for cross-origin fonts and module scripts).
+// Only GET 200 responses that are marked immutable, cached for at least a
+// week, or have a fingerprinted URL are stored. The least recently used URLs
+// are evicted once the objects pass the size limit.
+//
+// Storing only marks the index dirty - a cold page load stores dozens of
+// bundles from the route handler. The monitor loop calls flush() once per
+// cycle, which rewrites index.tsv at most every SAVE_INTERVAL_MS; close()
+// always writes it.
+//
+// Enable with -Dbot.assetCache=true; -Dbot.assetCache.dir (default
+// "asset-cache"), -Dbot.assetCache.maxMb (default 200).
+public class StaticAssetCache {
+    private static final Pattern STATIC_URL =
+        Pattern.compile("\\.(js|mjs|css|woff2?|ttf|otf|eot|svg|png|jpe?g|gif|webp|avif|ico)(\\?.*)?$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FINGERPRINT = Pattern.compile("[.\\-_/][0-9a-f]{8,}[.\\-_/]|[?&](v|ver|version|hash)=");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final long MIN_MAX_AGE_SECONDS = 7 * 24 * 3600;
+    private static final long SAVE_INTERVAL_MS = 30_000;
+    // Describe the original transfer, not the stored body - never replayed
+    private static final Set<String> UNREPLAYED_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+        "transfer-encoding", "upgrade", "content-encoding", "content-length", "set-cookie", "date", "age"));
+
+    // One cached URL
+    private static class Entry {
+        final String hash;
+        final String contentType;
+        final long size;
+        final Map<String, String> headers;
+
+        Entry(String hash, String contentType, long size, Map<String, String> headers) {
+            this.hash = hash;
+            this.contentType = contentType;
+            this.size = size;
+            this.headers = headers;
+        }
+    }
+
+    private final Path dir;
+    private final Path objects;
+    private final long maxBytes;
+    private final BotStats stats;
+    private final Map<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true); // LRU order
+    private final Map<String, Integer> refs = new HashMap<>(); // hash -> URLs using it
+    private long totalBytes;
+    private boolean indexDirty;
+    private long savedAtMs = System.currentTimeMillis();
+
+    public StaticAssetCache(Path dir, long maxBytes, BotStats stats) throws IOException {
+        this.dir = dir;
+        this.objects = dir.resolve("objects");
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+        Files.createDirectories(objects);
+        loadIndex();
+    }
+
+    // Returns null unless enabled through system properties
+    public static StaticAssetCache fromSystemProperties(BotStats stats, BotListener app) {
+        if (!Boolean.getBoolean("bot.assetCache")) {
+            return null;
+        }
+        Path dir = Path.of(System.getProperty("bot.assetCache.dir", "asset-cache"));
+        try {
+            StaticAssetCache cache = new StaticAssetCache(dir, Long.getLong("bot.assetCache.maxMb", 200) * 1024 * 1024, stats);
+            app.logMessage("📦 Serving static assets from " + dir + " (" + cache.index.size() + " cached, "
+                + cache.totalBytes / (1024 * 1024) + " MB)");
+            return cache;
+        } catch (IOException e) {
+            app.logMessage("⚠️ Static asset cache disabled, could not open " + dir + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Install before fault injection, so injected faults still run first
+    public void install(BrowserContext context) {
+        context.route(STATIC_URL, this::handleRoute);
+    }
+
+    private void handleRoute(Route route) {
+        Request request = route.request();
+        if (!request.method().equals("GET")) {
+            route.fallback();
+            return;
+        }
+        String url = request.url();
+        long start = System.nanoTime();
+        Entry entry = entryFor(url);
+        byte[] cached = entry == null ? null : read(url, entry);
+        if (cached != null) {
+            route.fulfill(new Route.FulfillOptions()
+                .setStatus(200)
+                .setContentType(entry.contentType)
+                .setHeaders(entry.headers)
+                .setBodyBytes(cached));
+            stats.increment("assets.hit");
+            stats.add("assets.hitBytes", cached.length);
+            stats.recordLatency("assets.serve", (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+
+        stats.increment("assets.miss");
+        APIResponse response;
+        try {
+            response = route.fetch();
+        } catch (Exception e) {
+            route.fallback(); // Let the browser fail (or succeed) on its own
+            return;
+        }
+        if (response.status() == 200 && isImmutable(url, response.headers())) {
+            String contentType = response.headers().getOrDefault("content-type", "application/octet-stream");
+            try {
+                store(url, contentType, replayedHeaders(response.headers()), response.body());
+            } catch (IOException e) {
+                stats.increment("assets.storeErrors");
+            }
+        }
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    static boolean isImmutable(String url, Map<String, String> headers) {
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return false;
+        }
+        if (cacheControl.contains("immutable")) {
+            return true;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find() && Long.parseLong(maxAge.group(1)) >= MIN_MAX_AGE_SECONDS) {
+            return true;
+        }
+        return FINGERPRINT.matcher(url.toLowerCase(Locale.ROOT)).find();
+    }
+
+    static Map<String, String> replayedHeaders(Map<String, String> original) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, String> header : original.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!UNREPLAYED_HEADERS.contains(name)) {
+                headers.put(name, header.getValue());
+            }
+        }
+        return headers;
+    }
+
+    private synchronized Entry entryFor(String url) {
+        return index.get(url);
+    }
+
+    // Cached body, or null when the object file is gone (the entry is dropped)
+    private byte[] read(String url, Entry entry) {
+        try {
+            return Files.readAllBytes(objects.resolve(entry.hash));
+        } catch (IOException e) {
+            synchronized (this) {
+                remove(url);
+            }
+            return null;
+        }
+    }
+
+    private synchronized void store(String url, String contentType, Map<String, String> headers, byte[] body)
+            throws IOException {
+        remove(url); // A new version of the same URL replaces the old one
+        String hash = sha256(body);
+        if (!refs.containsKey(hash)) {
+            Path tmp = objects.resolve(hash + ".tmp");
+            Files.write(tmp, body);
+            Files.move(tmp, objects.resolve(hash), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            totalBytes += body.length;
+        }
+        index.put(url, new Entry(hash, contentType, body.length, headers));
+        refs.merge(hash, 1, Integer::sum);
+        indexDirty = true;
+        stats.increment("assets.stored");
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            eldest.remove();
+            release(entry);
+            stats.increment("assets.evicted");
+        }
+    }
+
+    private void remove(String url) {
+        Entry entry = index.remove(url);
+        if (entry != null) {
+            release(entry);
+            indexDirty = true;
+        }
+    }
+
+    // Deletes the object once no URL points at it
+    private void release(Entry entry) {
+        int left = refs.merge(entry.hash, -1, Integer::sum);
+        if (left <= 0) {
+            refs.remove(entry.hash);
+            totalBytes -= entry.size;
+            try {
+                Files.deleteIfExists(objects.resolve(entry.hash));
+            } catch (IOException e) {
+                // Orphaned file - harmless, overwritten if the content comes back
+            }
+        }
+    }
+
+    // url \t hash \t size \t contentType \t headers (URL-encoded name=value&...),
+    // least recently used first; indexes from before the headers column load
+    // with no headers
+    private void loadIndex() throws IOException {
+        Path file = dir.resolve("index.tsv");
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] cols = line.split("\t", 5);
+            if (cols.length < 4 || !Files.exists(objects.resolve(cols[1]))) {
+                continue;
+            }
+            Entry entry = new Entry(cols[1], cols[3], Long.parseLong(cols[2]), decodeHeaders(cols.length > 4 ? cols[4] : ""));
+            index.put(cols[0], entry);
+            if (refs.merge(entry.hash, 1, Integer::sum) == 1) {
+                totalBytes += entry.size;
+            }
+        }
+    }
+
+    private synchronized void saveIndex() throws IOException {
+        if (!indexDirty) {
+            return;
+        }
+        Path tmp = dir.resolve("index.tsv.tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : index.entrySet()) {
+                writer.write(e.getKey() + "\t" + e.getValue().hash + "\t" + e.getValue().size + "\t" + e.getValue().contentType
+                    + "\t" + encodeHeaders(e.getValue().headers));
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, dir.resolve("index.tsv"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexDirty = false;
+        savedAtMs = System.currentTimeMillis();
+        stats.increment("assets.indexSaves");
+    }
+
+    // Writes the index if it changed and the last write is old enough
+    public synchronized void flush() {
+        if (!indexDirty || System.currentTimeMillis() - savedAtMs < SAVE_INTERVAL_MS) {
+            return;
+        }
+        try {
+            saveIndex();
+        } catch (IOException e) {
+            savedAtMs = System.currentTimeMillis(); // Try again next interval
+            stats.increment("assets.indexErrors");
+        }
+    }
+
+    private static String encodeHeaders(Map<String, String> headers) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (out.length() > 0) {
+                out.append('&');
+            }
+            out.append(URLEncoder.encode(header.getKey(), StandardCharsets.UTF_8)).append('=')
+                .append(URLEncoder.encode(header.getValue(), StandardCharsets.UTF_8));
+        }
+        return out.toString();
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                headers.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return headers;
+    }
+
+    // Persists the LRU order, so the next run evicts the right entries
+    public synchronized void close() {
+        try {
+            indexDirty = true;
+            saveIndex();
+        } catch (IOException e) {
+            // Next run rebuilds from what it can read
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package bot;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.WebSocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Order source fed by the search page's own WebSocket traffic. Frames are
+// decoded as they arrive and any order ids they mention are queued; the
+// monitor loop drains the queue into the same dedupe and bid path the DOM
+// poll uses, so a pushed order never waits for the next filter click.
+public class WebSocketOrderSource {
+    // An order id seen in a frame, with when it arrived
+    static class PushedOrder {
+        final String orderKey;
+        final String title;
+        final long receivedAtNanos;
+        
+        PushedOrder(String orderKey, String title, long receivedAtNanos) {
+            this.orderKey = orderKey;
+            this.title = title;
+            this.receivedAtNanos = receivedAtNanos;
+        }
+    }
+    
+    // Order ids as they appear in JSON payloads or order links
+    private static final Pattern ORDER_ID_PATTERN = Pattern.compile(
+        "\"(?:order_?[iI]d|orderID)\"\\s*:\\s*\"?(\\d+)|/order/(?:getoneorder/)?(\\d+)");
+    private static final Pattern TITLE_PATTERN = Pattern.compile("\"title\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+    
+    private final Queue<PushedOrder> pending = new ConcurrentLinkedQueue<>();
+    private final BotStats stats;
+    
+    public WebSocketOrderSource(BotStats stats) {
+        this.stats = stats;
+    }
+    
+    // Must be attached before the search page opens its socket
+    public void attach(Page page) {
+        page.onWebSocket(this::onWebSocket);
+    }
+    
+    private void onWebSocket(WebSocket webSocket) {
+        stats.increment("ws.connections");
+        webSocket.onFrameReceived(frame -> {
+            String text = frame.text();
+            if (text != null) {
+                onFrameText(text, System.nanoTime());
+            }
+        });
+    }
+    
+    void onFrameText(String text, long receivedAtNanos) {
+        stats.increment("ws.frames");
+        // Cheap pre-check - most frames are pings and unrelated events
+        if (!text.contains("order")) {
+            return;
+        }
+        Matcher titleMatcher = TITLE_PATTERN.matcher(text);
+        String title = titleMatcher.find() ? titleMatcher.group(1) : null;
+        
+        Matcher matcher = ORDER_ID_PATTERN.matcher(text);
+        while (matcher.find()) {
+            String orderKey = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            pending.add(new PushedOrder(orderKey, title != null ? title : "Order " + orderKey, receivedAtNanos));
+            stats.increment("ws.orders");
+        }
+    }
+    
+    // Everything pushed since the last drain, oldest first
+    public List<PushedOrder> drain() {
+        List<PushedOrder> orders = new ArrayList<>();
+        PushedOrder order;
+        while ((order = pending.poll()) != null) {
+            orders.add(order);
+        }
+        return orders;
+    }
+}